@@ -0,0 +1,282 @@
+package com.spertus.jacquard.batch;
+
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.ClientException;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.stream.*;
+
+/**
+ * An autograder for many submissions, such as when regrading every
+ * submission to an assignment. The same {@link Grader}s are applied to every
+ * submission, so state that is expensive to create, such as loaded PMD rule
+ * sets, is created only once. Targets are specified by paths relative to the
+ * root directory of a submission. Submissions are graded concurrently, with
+ * bounded parallelism.
+ *
+ * <p>For example, this grades every subdirectory of {@code submissions},
+ * printing each submission's results as soon as they are available:</p>
+ * <pre>
+ * BatchAutograder batch = new BatchAutograder.Builder()
+ *     .graders(importGrader, pmdGrader)
+ *     .targets("src/main/java/student/Main.java")
+ *     .build();
+ * batch.gradeAll(Path.of("submissions"),
+ *     (submission, results) -&gt; System.out.println(submission + ": " + results));
+ * </pre>
+ *
+ * <p>Submissions are graded within the grading context that was current
+ * when the batch autograder was built, unless another is specified through
+ * {@link Builder#context(Autograder)}. Each submission gets its own
+ * submission budget. Graders used in a batch are called from multiple
+ * threads at once.</p>
+ */
+public final class BatchAutograder {
+    // The name of the result reported for a submission that cannot be graded
+    private static final String ERROR_RESULT_NAME = "Batch autograder";
+
+    private final List<Grader> graders;
+    private final List<String> targetPaths;
+    private final int parallelism;
+    private final Autograder context;
+
+    /**
+     * A builder for a {@link BatchAutograder}.
+     */
+    public static class Builder {
+        /**
+         * The default maximum number of submissions graded at once, which is
+         * the number of available processors.
+         */
+        public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+        private final List<Grader> graders = new ArrayList<>();
+        private final List<String> targetPaths = new ArrayList<>();
+        private int parallelism = DEFAULT_PARALLELISM;
+        private Autograder context;
+
+        /**
+         * Creates a builder with no graders or targets.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Adds graders, which are run on each submission in the order in
+         * which they are added.
+         *
+         * @param graders the graders
+         * @return this builder
+         */
+        public Builder graders(final Grader... graders) {
+            this.graders.addAll(Arrays.asList(graders));
+            return this;
+        }
+
+        /**
+         * Adds the targets to grade in each submission. It does not matter
+         * whether forward slashes or backslashes are used as separators.
+         *
+         * @param relativePaths the paths of the targets, relative to the root
+         *                      directory of a submission
+         * @return this builder
+         * @throws ClientException if any path is absolute
+         */
+        public Builder targets(final String... relativePaths) {
+            for (final String relativePath : relativePaths) {
+                if (Paths.get(relativePath).isAbsolute()) {
+                    throw new ClientException("Target paths must be relative: " + relativePath);
+                }
+                targetPaths.add(relativePath.replace('\\', '/'));
+            }
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of submissions graded at once. If this
+         * method is not called, {@link #DEFAULT_PARALLELISM} is used.
+         *
+         * @param parallelism the maximum number of submissions graded at once
+         * @return this builder
+         * @throws ClientException if {@code parallelism} is not positive
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism <= 0) {
+                throw new ClientException("Parallelism must be positive.");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the grading context in which submissions are graded. If this
+         * method is not called, the context that is current when
+         * {@link #build()} is called is used.
+         *
+         * @param context the grading context
+         * @return this builder
+         * @see Autograder.Builder#buildContext()
+         */
+        public Builder context(final Autograder context) {
+            this.context = context;
+            return this;
+        }
+
+        /**
+         * Builds the batch autograder.
+         *
+         * @return the batch autograder
+         * @throws ClientException if no graders or no targets were added, or
+         *                         if no context was specified and
+         *                         {@link Autograder} has not been initialized
+         */
+        public BatchAutograder build() {
+            if (graders.isEmpty()) {
+                throw new ClientException("A BatchAutograder requires at least one grader.");
+            }
+            if (targetPaths.isEmpty()) {
+                throw new ClientException("A BatchAutograder requires at least one target.");
+            }
+            return new BatchAutograder(this);
+        }
+    }
+
+    private BatchAutograder(final Builder builder) {
+        graders = List.copyOf(builder.graders);
+        targetPaths = List.copyOf(builder.targetPaths);
+        parallelism = builder.parallelism;
+        context = builder.context == null ? Autograder.getInstance() : builder.context;
+    }
+
+    /**
+     * Grades a single submission.
+     *
+     * @param submission the root directory of the submission
+     * @return the results of all graders, in the order the graders were added
+     * @throws ClientException if a target path names a directory in the
+     *                         submission
+     */
+    public List<Result> grade(final Path submission) {
+        return context.forNewSubmission().within(() -> gradeSubmission(submission));
+    }
+
+    private List<Result> gradeSubmission(final Path submission) {
+        final Target[] targets = targetPaths.stream()
+                .map(targetPath -> Target.fromPath(submission.resolve(targetPath).toAbsolutePath().normalize()))
+                .toArray(Target[]::new);
+        final List<Result> results = new ArrayList<>();
+        for (final Grader grader : graders) {
+            results.addAll(grader.grade(targets));
+        }
+        return results;
+    }
+
+    /**
+     * Grades every submission in a directory. Each subdirectory is the root
+     * directory of one submission. As each submission is graded, its results
+     * are passed to the consumer, which is always called on the calling
+     * thread, so it need not be thread-safe. Submissions are not necessarily
+     * reported in order. A submission that cannot be graded, such as because
+     * a target path names a directory in it, gets a single error result, and
+     * the other submissions are still graded.
+     *
+     * @param submissionsDir the directory containing the submissions
+     * @param consumer       the recipient of each submission's results
+     * @return the number of submissions graded
+     * @throws ClientException if the directory cannot be read
+     */
+    public int gradeAll(
+            final Path submissionsDir,
+            final BiConsumer<Path, List<Result>> consumer) {
+        return gradeAll(findSubmissions(submissionsDir), consumer);
+    }
+
+    /**
+     * Grades the specified submissions. As each submission is graded, its
+     * results are passed to the consumer, which is always called on the
+     * calling thread, so it need not be thread-safe. Submissions are not
+     * necessarily reported in order. A submission that cannot be graded,
+     * such as because a target path names a directory in it, gets a single
+     * error result, and the other submissions are still graded.
+     *
+     * @param submissions the root directories of the submissions
+     * @param consumer    the recipient of each submission's results
+     * @return the number of submissions graded
+     */
+    public int gradeAll(
+            final List<Path> submissions,
+            final BiConsumer<Path, List<Result>> consumer) {
+        if (submissions.isEmpty()) {
+            return 0;
+        }
+        final ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(parallelism, submissions.size()));
+        try {
+            final CompletionService<Map.Entry<Path, List<Result>>> completionService =
+                    new ExecutorCompletionService<>(pool);
+            for (final Path submission : submissions) {
+                completionService.submit(() -> Map.entry(submission, gradeOrReportError(submission)));
+            }
+            for (int i = 0; i < submissions.size(); i++) {
+                final Map.Entry<Path, List<Result>> entry = take(completionService);
+                consumer.accept(entry.getKey(), entry.getValue());
+            }
+            return submissions.size();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Grades a submission, turning a failure into an error result so that
+    // it costs only this submission's results.
+    private List<Result> gradeOrReportError(final Path submission) {
+        try {
+            return grade(submission);
+        } catch (RuntimeException e) { // NOPMD
+            return context.within(() -> List.of(Result.makeError(ERROR_RESULT_NAME, e)));
+        }
+    }
+
+    private static <T> T take(final CompletionService<T> completionService) {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException("Interrupted while grading submissions", e);
+        } catch (ExecutionException e) {
+            // Graders handle their own failures, so anything thrown here is
+            // an error that would have propagated if it had been called
+            // directly.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ClientException("Unable to grade submission", e.getCause());
+        }
+    }
+
+    /**
+     * Finds the root directories of the submissions in a directory, which
+     * are its immediate subdirectories.
+     *
+     * @param submissionsDir the directory containing the submissions
+     * @return the submission directories, sorted by name
+     * @throws ClientException if the directory cannot be read
+     */
+    public static List<Path> findSubmissions(final Path submissionsDir) {
+        if (!Files.isDirectory(submissionsDir)) {
+            throw new ClientException("Not a directory: " + submissionsDir);
+        }
+        try (Stream<Path> paths = Files.list(submissionsDir)) {
+            return paths
+                    .filter(Files::isDirectory)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new ClientException("Unable to access directory " + submissionsDir, e);
+        }
+    }
+}
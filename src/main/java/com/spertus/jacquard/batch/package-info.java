@@ -0,0 +1,5 @@
+/**
+ * Support for grading many submissions, such as every submission to an
+ * assignment, in a single JVM.
+ */
+package com.spertus.jacquard.batch;
@@ -27,14 +27,17 @@ public class CheckstyleGrader extends Grader {
             "https://github.com/checkstyle/checkstyle/releases/download/checkstyle-%1s/%2s",
             CHECKSTYLE_VERSION, CHECKSTYLE_JAR);
     private static final String CHECKSTYLE_SUBDIR = "lib";
-    private static final String RESULT_FILE_NAME = "checkstyle-results.xml";
+    // Each run writes to its own temporary file so that graders can run
+    // concurrently (see Grader.gradeAllConcurrently()).
+    private static final String RESULT_FILE_PREFIX = "checkstyle-results";
+    private static final String RESULT_FILE_SUFFIX = ".xml";
     private static final List<String> FIRST_COMMAND_PARTS = List.of(
             "java",
             "-cp",
             "lib/*",
             "com.puppycrawl.tools.checkstyle.Main",
-            "-f=xml",
-            "-o" + RESULT_FILE_NAME);
+            "-f=xml");
+    private static final String OUTPUT_TEMPLATE = "-o%s";
     private static final String CONFIG_TEMPLATE = "-c=%s";
 
     private final String ruleFile;
@@ -135,9 +138,10 @@ public class CheckstyleGrader extends Grader {
         }
     }
 
-    private void runCheckstyle(final Target... targets) throws InternalException {
+    private void runCheckstyle(final File resultFile, final Target... targets) throws InternalException {
         downloadCheckstyleIfNeeded();
         final List<String> arguments = new ArrayList<>(FIRST_COMMAND_PARTS);
+        arguments.add(String.format(OUTPUT_TEMPLATE, resultFile.getPath()));
         arguments.add(String.format(CONFIG_TEMPLATE, ruleFile));
         for (Target target : targets) {
             arguments.add(target.toPathString());
@@ -155,12 +159,10 @@ public class CheckstyleGrader extends Grader {
         }
     }
 
-    private Result interpretOutput() throws
+    private Result interpretOutput(final File file) throws
             IOException, SAXException, ParserConfigurationException {
         final DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        final File file = new File(RESULT_FILE_NAME);
         final Document doc = builder.parse(file);
-     //   new File(RESULT_FILE_NAME).delete(); // comment out when debugging
         final NodeList filesWithErrors = doc.getElementsByTagName("file");
         int numErrors = 0;
         final StringBuilder sb = new StringBuilder();
@@ -176,22 +178,47 @@ public class CheckstyleGrader extends Grader {
         }
     }
 
-    @Override
-    public Callable<List<Result>> getCallableSingleTarget(final Target target) {
-        return () -> {
+    private List<Result> check(final Target... targets) throws
+            InternalException, IOException, SAXException, ParserConfigurationException {
+        final File resultFile = Files.createTempFile(RESULT_FILE_PREFIX, RESULT_FILE_SUFFIX).toFile();
+        try {
             // Either of the next two method calls could throw
             // InternalException. If so, it will be caught in
             // Grader.gradeTimed() or Grader.gradeUntimed().
-            runCheckstyle(target);
-            return List.of(interpretOutput());
-        };
+            runCheckstyle(resultFile, targets);
+            return List.of(interpretOutput(resultFile));
+        } finally {
+            resultFile.delete(); // comment out when debugging
+        }
+    }
+
+    @Override
+    public double getMaxScore() {
+        return maxPoints;
+    }
+
+    @Override
+    public String getFingerprint() {
+        // The rule file may be one built into Checkstyle rather than a local
+        // file, in which case the Checkstyle version identifies its contents.
+        String ruleFileHash = "";
+        if (Files.isRegularFile(Path.of(ruleFile))) {
+            try {
+                ruleFileHash = Target.fromPathString(ruleFile).getContentHash();
+            } catch (SubmissionException e) {
+                return null;
+            }
+        }
+        return makeFingerprint(CHECKSTYLE_VERSION, ruleFile, ruleFileHash, penalty, maxPoints);
+    }
+
+    @Override
+    public Callable<List<Result>> getCallableSingleTarget(final Target target) {
+        return () -> check(target);
     }
 
     @Override
     public Callable<List<Result>> getCallableMultiTarget(final Target... targets) {
-        return () -> {
-            runCheckstyle(targets);
-            return List.of(interpretOutput());
-        };
+        return () -> check(targets);
     }
 }
@@ -3,14 +3,36 @@ package com.spertus.jacquard.common;
 import com.google.common.annotations.VisibleForTesting;
 import com.spertus.jacquard.exceptions.*;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 /**
- * A singleton class containing configuration information. The client must
- * initialize the Autograder before calling other Jacquard code. This can
- * be done throw {@link Builder} or {@link #init()}.
+ * An immutable grading context containing configuration information. The
+ * client must initialize the default Autograder before calling other
+ * Jacquard code. This can be done throw {@link Builder} or {@link #init()}.
+ * The Autograder owns the threads shared by all {@link Grader}s, which are
+ * released by {@link #shutdown()}.
+ *
+ * <p>To grade with several configurations in one JVM, independent contexts
+ * can be created with {@link Builder#buildContext()} and used through
+ * {@link #within(Supplier)} or {@link Grader#grade(Autograder, Target...)}.
+ * While a context is in use on a thread, {@link #getInstance()} returns it
+ * instead of the default Autograder.</p>
  */
 public final class Autograder {
     private static Autograder instance;
 
+    // The context in use on each thread, if any, which takes precedence
+    // over the default instance.
+    private static final ThreadLocal<Autograder> CURRENT = new ThreadLocal<>();
+
+    // Whether any context has been built, in which case graders may be
+    // created before the default instance is initialized.
+    private static volatile boolean contextBuilt;
+
     /**
      * The Java level of student code.
      */
@@ -27,7 +49,31 @@ public final class Autograder {
     public final Visibility visibility;
 
     /**
-     * A singleton class for building the Autograder.
+     * The number of milliseconds all grading of a submission may take in
+     * total, measured from when the Autograder is built, or 0 for no limit.
+     */
+    public final long submissionBudgetMillis;
+
+    /**
+     * Whether graders that check only imports, such as
+     * {@link com.spertus.jacquard.syntaxgrader.ImportRequiredGrader}, scan
+     * just the package and import declarations instead of parsing targets.
+     */
+    public final boolean headerOnlyImports;
+
+    // The cache of grader results, or null if results are not cached.
+    private final ResultCache resultCache;
+
+    // When the submission budget started, per System.nanoTime().
+    private final long startNanos;
+
+    // The executor shared by all graders, which is closed by shutdown().
+    private final ExecutorService executor;
+
+    /**
+     * A builder for Autograders. The shared instance returned by
+     * {@link #getInstance()} builds the default Autograder. Builders created
+     * through the constructor build independent grading contexts.
      */
     @SuppressWarnings({"PMD.AvoidFieldNameMatchingMethodName", "PMD.AvoidFieldNameMatchingTypeName"})
     public static class Builder {
@@ -46,14 +92,47 @@ public final class Autograder {
          */
         public static final Visibility DEFAULT_VISIBILITY = Visibility.VISIBLE;
 
+        /**
+         * The default maximum number of threads on which {@link Grader}s run,
+         * which is the number of available processors.
+         */
+        public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The default policy for the executor on which {@link Grader}s run.
+         */
+        public static final ExecutorPolicy DEFAULT_EXECUTOR_POLICY = ExecutorPolicy.FIXED;
+
+        /**
+         * The default time budget for a submission, in milliseconds, which
+         * is 0 (no limit).
+         */
+        public static final long DEFAULT_SUBMISSION_BUDGET_MS = 0L;
+
+        /**
+         * The default for whether import graders scan only the package and
+         * import declarations of targets, which is false.
+         */
+        public static final boolean DEFAULT_HEADER_ONLY_IMPORTS = false;
+
         private static final Builder INSTANCE = new Builder();
 
         private boolean built = false;
         private long timeoutMillis = DEFAULT_TIMEOUT_MS;
         private int javaLevel = DEFAULT_JAVA_LEVEL;
         private Visibility visibility = DEFAULT_VISIBILITY;
+        private int threads = DEFAULT_THREADS;
+        private ExecutorPolicy executorPolicy = DEFAULT_EXECUTOR_POLICY;
+        private long submissionBudgetMillis = DEFAULT_SUBMISSION_BUDGET_MS;
+        private boolean headerOnlyImports = DEFAULT_HEADER_ONLY_IMPORTS;
+        private ResultCache resultCache;
 
-        private Builder() {
+        /**
+         * Creates a builder for independent grading contexts, which are
+         * built with {@link #buildContext()}. To build the default
+         * Autograder, use {@link #getInstance()} instead.
+         */
+        public Builder() {
         }
 
         /**
@@ -114,12 +193,116 @@ public final class Autograder {
         }
 
         /**
-         * Builds the Autograder using information from this builder. This
-         * may be called only once per program execution (unless
-         * {@code VisibleForTesting} methods are used).
+         * Sets the maximum number of threads on which {@link Grader}s run
+         * when a timeout is set. All graders share these threads, so the
+         * number of threads does not grow with the number of graders. If
+         * this method is not called, {@link #DEFAULT_THREADS} is used.
+         *
+         * @param threads the maximum number of threads, which must be positive
+         * @return the builder
+         * @throws ClientException if this builder has already been built or
+         *                         if {@code threads} is not positive
+         */
+        public Builder threads(final int threads) {
+            verifyMutability();
+            if (threads <= 0) {
+                throw new ClientException("The number of threads must be positive.");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the policy for the executor on which {@link Grader}s run when a
+         * timeout is set. If this method is not called,
+         * {@link #DEFAULT_EXECUTOR_POLICY} is used.
          *
+         * @param executorPolicy the policy
+         * @return the builder
+         * @throws ClientException if this builder has already been built or
+         *                         if the policy is not available in this JVM
+         * @see ExecutorPolicy#isAvailable()
+         */
+        public Builder executorPolicy(final ExecutorPolicy executorPolicy) {
+            verifyMutability();
+            if (!executorPolicy.isAvailable()) {
+                throw new ClientException("Executor policy " + executorPolicy + " is not available in this JVM.");
+            }
+            this.executorPolicy = executorPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the total time that all grading of a submission may take (or 0
+         * for no limit), measured from when {@link #build()} is called. When
+         * a budget is set, each {@link Grader} is given the lesser of the
+         * timeout and the time remaining in the budget, and graders that
+         * cannot be started before the budget runs out are reported as not
+         * run. {@link Grader#gradeAll(Target, Grader...)} runs the graders
+         * worth the most points first. Testers are brought under the budget
+         * by running them through {@link Tester#toGrader(String)}. If this
+         * method is not called, {@link #DEFAULT_SUBMISSION_BUDGET_MS} is
+         * used.
+         *
+         * @param budget the budget in milliseconds or 0 for no limit
+         * @return the builder
+         * @throws ClientException if this builder has already been built or
+         *                         if {@code budget} is negative
+         */
+        public Builder submissionBudget(final long budget) {
+            verifyMutability();
+            if (budget < 0) {
+                throw new ClientException("The submission budget must not be negative.");
+            }
+            submissionBudgetMillis = budget;
+            return this;
+        }
+
+        /**
+         * Sets whether graders that check only imports scan just the package
+         * and import declarations at the start of each target, stopping at
+         * the first type declaration, instead of parsing the whole target.
+         * This is much faster for large targets, but the rest of the code is
+         * not checked, so these graders produce results even for targets
+         * that cannot be parsed. Targets whose declarations are in unusual
+         * forms are parsed as usual. If this method is not called,
+         * {@link #DEFAULT_HEADER_ONLY_IMPORTS} is used.
+         *
+         * @param headerOnlyImports whether to scan only the declarations
+         * @return the builder
          * @throws ClientException if this builder has already been built
          */
+        public Builder headerOnlyImports(final boolean headerOnlyImports) {
+            verifyMutability();
+            this.headerOnlyImports = headerOnlyImports;
+            return this;
+        }
+
+        /**
+         * Sets the cache in which {@link Grader} results are stored, so that
+         * unchanged targets need not be graded again. A cache may be shared
+         * by several Autograders. If this method is not called, results are
+         * not cached.
+         *
+         * @param resultCache the cache, or {@code null} for no caching
+         * @return the builder
+         * @throws ClientException if this builder has already been built
+         */
+        public Builder resultCache(final ResultCache resultCache) {
+            verifyMutability();
+            this.resultCache = resultCache;
+            return this;
+        }
+
+        /**
+         * Builds the default Autograder using information from this builder.
+         * This may be called only once per program execution (unless
+         * {@code VisibleForTesting} methods are used).
+         *
+         * @throws ClientException if this builder has already been built or
+         *                         the default Autograder has already been
+         *                         initialized
+         */
         public void build() {
             if (built) {
                 throw new ClientException("The build method can be called only once.");
@@ -128,11 +311,31 @@ public final class Autograder {
             built = true;
         }
 
+        /**
+         * Builds an independent grading context using information from this
+         * builder. Unlike {@link #build()}, this does not initialize the
+         * default Autograder and may be called any number of times. Each
+         * context has its own threads, which should be released by calling
+         * {@link Autograder#shutdown()} when the context is no longer needed.
+         *
+         * @return the new context
+         * @see Autograder#within(Supplier)
+         */
+        public Autograder buildContext() {
+            contextBuilt = true;
+            return new Autograder(this);
+        }
+
         private void resetForTest() {
             built = false;
             timeout(DEFAULT_TIMEOUT_MS);
             javaLevel(DEFAULT_JAVA_LEVEL);
             visibility(DEFAULT_VISIBILITY);
+            threads(DEFAULT_THREADS);
+            executorPolicy(DEFAULT_EXECUTOR_POLICY);
+            submissionBudget(DEFAULT_SUBMISSION_BUDGET_MS);
+            headerOnlyImports(DEFAULT_HEADER_ONLY_IMPORTS);
+            resultCache(null);
         }
     }
 
@@ -140,6 +343,22 @@ public final class Autograder {
         javaLevel = builder.javaLevel;
         timeoutMillis = builder.timeoutMillis;
         visibility = builder.visibility;
+        submissionBudgetMillis = builder.submissionBudgetMillis;
+        headerOnlyImports = builder.headerOnlyImports;
+        resultCache = builder.resultCache;
+        startNanos = System.nanoTime();
+        executor = builder.executorPolicy.createExecutor(builder.threads);
+    }
+
+    private Autograder(final Autograder base) {
+        javaLevel = base.javaLevel;
+        timeoutMillis = base.timeoutMillis;
+        visibility = base.visibility;
+        submissionBudgetMillis = base.submissionBudgetMillis;
+        headerOnlyImports = base.headerOnlyImports;
+        resultCache = base.resultCache;
+        startNanos = System.nanoTime();
+        executor = base.executor;
     }
 
     private static void makeAutograder(final Builder builder) {
@@ -163,12 +382,20 @@ public final class Autograder {
     }
 
     /**
-     * Gets the singleton Autograder instance.
+     * Gets the Autograder in use on the current thread, which is the default
+     * Autograder unless code is running within another context.
      *
-     * @return the singleton Autograder instance
-     * @throws ClientException if the Autograder has not been initialized
+     * @return the current Autograder
+     * @throws ClientException if no context is in use on the current thread
+     *                         and the default Autograder has not been
+     *                         initialized
+     * @see #within(Supplier)
      */
     public static Autograder getInstance() {
+        final Autograder current = CURRENT.get();
+        if (current != null) {
+            return current;
+        }
         if (instance == null) {
             throw new ClientException("Autograder not initialized.");
         }
@@ -176,12 +403,172 @@ public final class Autograder {
     }
 
     /**
-     * Checks whether the Autograder has been initialized.
+     * Checks whether the Autograder has been initialized, either because a
+     * context is in use on the current thread or because the default
+     * Autograder has been initialized.
      *
      * @return whether the autograder has been initialized
      */
     public static boolean isInitialized() {
-        return instance != null;
+        return CURRENT.get() != null || instance != null;
+    }
+
+    // Checks whether graders may be created, which requires that some
+    // context has been built, although not necessarily on this thread.
+    static boolean isAvailable() {
+        return contextBuilt || isInitialized();
+    }
+
+    /**
+     * Performs an action with this Autograder as the current context, so
+     * that calls to {@link #getInstance()} on the current thread (and on the
+     * threads on which graders run) return this Autograder.
+     *
+     * @param action the action
+     * @param <T>    the type of the action's result
+     * @return the action's result
+     */
+    public <T> T within(final Supplier<T> action) {
+        final Autograder previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // Wraps a callable so that it runs with this Autograder as the current
+    // context on whichever thread calls it.
+    <T> Callable<T> bind(final Callable<T> callable) {
+        return () -> {
+            final Autograder previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return callable.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(final Autograder previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Creates a context with the same configuration and threads as this one
+     * but whose submission budget starts now. This should be used for each
+     * submission when several submissions are graded with one context.
+     * The caches kept for each context, such as of parsed targets, start
+     * empty, so what they hold can be reclaimed once the submission has
+     * been graded. Calling {@link #shutdown()} on either context shuts
+     * down both.
+     *
+     * @return the new context
+     * @see Builder#submissionBudget(long)
+     */
+    public Autograder forNewSubmission() {
+        return new Autograder(this);
+    }
+
+    /**
+     * Checks whether the submission budget has been used up. This is always
+     * false if no budget was set.
+     *
+     * @return whether the submission budget has been used up
+     * @see Builder#submissionBudget(long)
+     */
+    public boolean isBudgetExhausted() {
+        return submissionBudgetMillis != 0 && getRemainingBudgetMillis() <= 0;
+    }
+
+    /**
+     * Gets the number of milliseconds the next grading operation may take,
+     * which is the lesser of {@link #timeoutMillis} and the time remaining
+     * in the submission budget, or 0 if neither limit is set.
+     *
+     * @return the time limit in milliseconds or 0 for no limit
+     */
+    public long getTimeLimitMillis() {
+        if (submissionBudgetMillis == 0) {
+            return timeoutMillis;
+        }
+        // Never return 0, which would mean no limit.
+        final long remaining = Math.max(getRemainingBudgetMillis(), 1);
+        return timeoutMillis == 0 ? remaining : Math.min(timeoutMillis, remaining);
+    }
+
+    private long getRemainingBudgetMillis() {
+        return submissionBudgetMillis
+                - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the cache in which {@link Grader} results are stored.
+     *
+     * @return the cache, or {@code null} if results are not cached
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Gets the executor on which {@link Grader}s run.
+     *
+     * @return the executor
+     */
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    // Adds a thread to the executor in place of one held by a grader that
+    // timed out and may not stop, since interrupting cannot stop a
+    // CPU-bound or interrupt-ignoring loop. Otherwise, runaway graders
+    // could take every thread and starve the graders after them. Executors
+    // that create a thread per task need no replacements.
+    void addReplacementThread() {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            synchronized (pool) {
+                // The maximum may not be less than the core size.
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + 1);
+                pool.setCorePoolSize(pool.getCorePoolSize() + 1);
+            }
+        }
+    }
+
+    // Removes a thread added by addReplacementThread() once the grader it
+    // replaced has stopped.
+    void removeReplacementThread() {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            synchronized (pool) {
+                pool.setCorePoolSize(pool.getCorePoolSize() - 1);
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() - 1);
+            }
+        }
+    }
+
+    /**
+     * Shuts down the threads shared by {@link Grader}s. Graders that are
+     * running are interrupted. This should be called once grading is
+     * complete. After it is called, no more grading may be done with this
+     * Autograder.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks whether {@link #shutdown()} has been called.
+     *
+     * @return whether this Autograder has been shut down
+     */
+    public boolean isShutdown() {
+        return executor.isShutdown();
     }
 
     /**
@@ -190,7 +577,11 @@ public final class Autograder {
      */
     @VisibleForTesting
     public static void resetForTest() {
+        if (instance != null) {
+            instance.shutdown();
+        }
         instance = null;
+        contextBuilt = false;
         Builder.getInstance().resetForTest();
     }
 
@@ -4,6 +4,8 @@ package com.spertus.jacquard.common;
  * A result encapsulating an exception.
  */
 public class ExceptionResult extends Result {
+    private static final long serialVersionUID = 1L;
+
     /**
      * Makes a result indicating an exceptional event occurred.
      *
@@ -0,0 +1,105 @@
+package com.spertus.jacquard.common;
+
+import com.spertus.jacquard.exceptions.ClientException;
+
+import java.lang.reflect.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The policy for the shared executor on which {@link Grader}s run when a
+ * timeout is set. The size of the executor is set through
+ * {@link Autograder.Builder#threads(int)}.
+ *
+ * @see Autograder.Builder#executorPolicy(ExecutorPolicy)
+ */
+public enum ExecutorPolicy {
+    /**
+     * A fixed number of threads, which are reused. Graders submitted while
+     * all the threads are busy wait for one to become free.
+     */
+    FIXED,
+
+    /**
+     * Threads are created as needed, up to the configured limit, and are
+     * discarded after being idle for {@link #KEEP_ALIVE_SECONDS}.
+     */
+    CACHED,
+
+    /**
+     * A new virtual thread is created for each grader call, which is cheap
+     * enough to grade hundreds of targets concurrently. The thread limit
+     * set through {@link Autograder.Builder#threads(int)} does not apply.
+     * This requires Java 21 or later at run time.
+     */
+    VIRTUAL;
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+    private static final String THREAD_NAME_PREFIX = "jacquard-grader-";
+    private static final int MIN_VIRTUAL_THREAD_JAVA_VERSION = 21;
+
+    // Jacquard is compiled for Java 17, so the virtual thread API (which
+    // became final in Java 21) is looked up reflectively.
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private static Method findVirtualThreadExecutorFactory() {
+        if (Runtime.version().feature() < MIN_VIRTUAL_THREAD_JAVA_VERSION) {
+            return null;
+        }
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether this policy can be used in the running JVM.
+     *
+     * @return whether this policy is available
+     */
+    public boolean isAvailable() {
+        return this != VIRTUAL || NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    ExecutorService createExecutor(final int threads) {
+        final ThreadFactory threadFactory = new GraderThreadFactory();
+        return switch (this) {
+            case FIXED -> Executors.newFixedThreadPool(threads, threadFactory);
+            case CACHED -> {
+                final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                        threads, threads,
+                        KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        threadFactory);
+                executor.allowCoreThreadTimeOut(true);
+                yield executor;
+            }
+            case VIRTUAL -> createVirtualThreadExecutor();
+        };
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR == null) {
+            throw new ClientException("Virtual threads require Java " + MIN_VIRTUAL_THREAD_JAVA_VERSION + " or later.");
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new ClientException("Unable to create virtual thread executor", e);
+        }
+    }
+
+    // Daemon threads keep a forgotten Autograder.shutdown() from preventing
+    // the JVM from exiting.
+    private static class GraderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
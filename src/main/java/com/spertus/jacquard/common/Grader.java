@@ -6,6 +6,7 @@ import com.spertus.jacquard.exceptions.TimeoutException;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 import java.util.stream.*;
 
 /**
@@ -13,22 +14,61 @@ import java.util.stream.*;
  */
 @SuppressWarnings("PMD.TooManyMethods")
 public abstract class Grader {
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
     private final String name;
 
     /**
      * Creates a grader.
      *
      * @param name the name of the grader
-     * @throws ClientException if {@link Autograder} has not been initialized
+     * @throws ClientException if neither the default {@link Autograder} nor
+     *                         any grading context has been built
      */
     public Grader(final String name) {
-        if (!Autograder.isInitialized()) {
+        if (!Autograder.isAvailable()) {
             throw new ClientException("Autograder must be initialized before creating a grader.");
         }
         this.name = name;
     }
 
+    /**
+     * Gets the maximum number of points this grader can award for a single
+     * target. This is used to run the graders worth the most points first
+     * when a submission budget is set and to report the points lost by a
+     * grader that could not be run.
+     *
+     * @return the maximum number of points
+     * @see Autograder.Builder#submissionBudget(long)
+     */
+    public abstract double getMaxScore();
+
+    /**
+     * Gets a description of everything about this grader's configuration
+     * that affects its results, such as rules and thresholds. Graders of the
+     * same class with equal fingerprints must produce equal results for
+     * targets with equal contents, which allows results to be reused from a
+     * {@link ResultCache}. The default implementation returns {@code null},
+     * which means that this grader's results are never cached.
+     *
+     * @return the fingerprint, or {@code null} if results must not be cached
+     * @see #makeFingerprint(Object...)
+     */
+    public String getFingerprint() {
+        return null;
+    }
+
+    /**
+     * Creates a fingerprint from this grader's name and the specified
+     * configuration values, for use by {@link #getFingerprint()}. Arrays
+     * and collections are included element by element, so any unordered
+     * collections should be sorted first.
+     *
+     * @param parts the configuration values
+     * @return the fingerprint
+     */
+    protected String makeFingerprint(final Object... parts) {
+        return name + Arrays.deepToString(parts);
+    }
+
     /**
      * Gets a {@link Callable} through which this grader can be called on
      * a single target.
@@ -63,12 +103,34 @@ public abstract class Grader {
         };
     }
 
+    // Subclasses that override getCallableMultiTarget() grade multiple
+    // targets together (for example, in a single PMD analysis), so their
+    // targets cannot be graded separately.
+    private boolean gradesTargetsSeparately() {
+        try {
+            return getClass()
+                    .getMethod("getCallableMultiTarget", Target[].class)
+                    .getDeclaringClass() == Grader.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private List<Result> gradeUntimed(final Target... targets) {
+        if (targets.length > 1 && gradesTargetsSeparately()) {
+            // Grade each target on its own so a failure on one target
+            // does not lose the results for the others.
+            final List<Result> results = new ArrayList<>();
+            for (final Target target : targets) {
+                results.addAll(gradeUntimed(target));
+            }
+            return results;
+        }
         final List<Result> results = new ArrayList<>();
         try {
             if (targets.length == 1) {
                 results.addAll(getCallableSingleTarget(targets[0]).call());
-            } else if (targets.length > 1) {
+            } else {
                 results.addAll(getCallableMultiTarget(targets).call());
             }
         } catch (Exception e) { // NOPMD
@@ -77,22 +139,139 @@ public abstract class Grader {
         return results;
     }
 
-    private List<Result> gradeTimed(final Target... targets) {
-        final List<Result> results = new ArrayList<>();
+    // Submits the grading of the targets to the shared executor, returning
+    // a supplier that waits for the results. Nothing run on the executor
+    // waits for other tasks there, so callers may start many graders at
+    // once without risk of filling the executor with waiting threads.
+    private Supplier<List<Result>> startTimed(final long timeoutMillis, final Target... targets) {
+        final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        final List<TimedTask> tasks = new ArrayList<>(targets.length);
+        if (targets.length > 1 && gradesTargetsSeparately()) {
+            // Each target gets its own future and deadline, so a slow or
+            // broken target costs only its own results.
+            for (final Target target : targets) {
+                tasks.add(new TimedTask(getCallableSingleTarget(target), timeoutNanos));
+            }
+        } else {
+            // For graders that grade multiple targets together, an exception
+            // ends grading of all the targets, rather than continuing to
+            // other targets.
+            tasks.add(new TimedTask(
+                    targets.length == 1 ? getCallableMultiTarget(targets[0]) : getCallableMultiTarget(targets),
+                    timeoutNanos));
+        }
+        submit(tasks);
+        return () -> {
+            final List<Result> results = new ArrayList<>();
+            for (final TimedTask task : tasks) {
+                results.addAll(task.await());
+            }
+            return results;
+        };
+    }
+
+    // Submits the grading of the targets to the shared executor without a
+    // time limit, returning a supplier that waits for the results.
+    private Supplier<List<Result>> startUntimed(final Target... targets) {
+        final Autograder autograder = Autograder.getInstance();
+        final Future<List<Result>> future;
         try {
-            final Future<List<Result>> future = executor.submit(
-                    targets.length == 1 ? getCallableMultiTarget(targets[0])
-                            : getCallableMultiTarget(targets));
-            results.addAll(future.get(Autograder.getInstance().timeoutMillis, TimeUnit.MILLISECONDS));
-        } catch (java.util.concurrent.TimeoutException e) {
-            results.add(makeExceptionResult(
-                    new TimeoutException("Operation timed out")));
-        } catch (InterruptedException | ExecutionException e) {
-            // This currently returns after the first exception is thrown,
-            // rather than continuing to other targets.
-            results.add(makeExceptionResult(e.getCause() == null ? e : e.getCause()));
+            future = autograder.getExecutor().submit(autograder.bind(() -> gradeUntimed(targets)));
+        } catch (RejectedExecutionException e) {
+            throw new ClientException("Graders cannot be run after Autograder.shutdown() is called.", e);
+        }
+        return () -> collect(future);
+    }
+
+    private void submit(final List<TimedTask> tasks) {
+        final Autograder autograder = Autograder.getInstance();
+        try {
+            for (final TimedTask task : tasks) {
+                task.autograder = autograder;
+                task.future = autograder.getExecutor().submit(autograder.bind(task));
+            }
+        } catch (RejectedExecutionException e) {
+            tasks.stream().filter(task -> task.future != null).forEach(task -> task.future.cancel(true));
+            throw new ClientException("Graders cannot be run after Autograder.shutdown() is called.", e);
+        }
+    }
+
+    // A callable that records when it starts running, so its deadline does
+    // not include time spent waiting for a thread, which may be shared with
+    // other callers' graders. The wait for a thread is not limited, because
+    // the executor never stays full: each running task either finishes or
+    // is abandoned by its caller at its deadline, and a thread is then
+    // added in place of any thread that is still stuck.
+    private class TimedTask implements Callable<List<Result>> {
+        // How often a task that has not started checks for shutdown
+        private static final long SHUTDOWN_POLL_MILLIS = 100;
+
+        private final Callable<List<Result>> callable;
+        private final long timeoutNanos;
+        private final CountDownLatch startLatch = new CountDownLatch(1);
+        private volatile long startNanos;
+        private Autograder autograder;
+        private Future<List<Result>> future;
+        // Guarded by this
+        private boolean finished;
+        private boolean replaced;
+
+        TimedTask(final Callable<List<Result>> callable, final long timeoutNanos) {
+            this.callable = callable;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        public List<Result> call() throws Exception {
+            startNanos = System.nanoTime();
+            startLatch.countDown();
+            try {
+                return callable.call();
+            } finally {
+                synchronized (this) {
+                    finished = true;
+                    if (replaced) {
+                        autograder.removeReplacementThread();
+                    }
+                }
+            }
+        }
+
+        // Cancels the task. If it is running, its thread may be stuck, so
+        // another is added to the executor until the task stops.
+        private void abandon() {
+            future.cancel(true);
+            synchronized (this) {
+                if (startLatch.getCount() == 0 && !finished && !replaced) {
+                    replaced = true;
+                    autograder.addReplacementThread();
+                }
+            }
+        }
+
+        List<Result> await() {
+            try {
+                while (!startLatch.await(SHUTDOWN_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    // Tasks waiting for a thread are dropped at shutdown.
+                    if (autograder.isShutdown()) {
+                        abandon();
+                        return makeExceptionResultList(new ClientException(
+                                "Graders cannot be run after Autograder.shutdown() is called."));
+                    }
+                }
+                final long remainingNanos = startNanos + timeoutNanos - System.nanoTime();
+                return future.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+            } catch (java.util.concurrent.TimeoutException e) {
+                abandon();
+                return makeExceptionResultList(new TimeoutException("Operation timed out"));
+            } catch (InterruptedException e) {
+                abandon();
+                Thread.currentThread().interrupt();
+                return makeExceptionResultList(e);
+            } catch (ExecutionException e) {
+                return makeExceptionResultList(e.getCause() == null ? e : e.getCause());
+            }
         }
-        return results;
     }
 
     /**
@@ -107,37 +286,159 @@ public abstract class Grader {
     }
 
     /**
-     * Grades the provided targets.
+     * Grades the provided targets. If a {@link ResultCache} is in use and
+     * holds results for these targets, they are returned without grading.
+     * If the submission budget has been used up, the targets are not graded,
+     * and a single result is returned indicating that the grader was not
+     * run.
      *
      * @param targets the targets
      * @return the results
      * @throws ClientException if {@link Autograder} has not been initialized
+     * @see Autograder.Builder#submissionBudget(long)
      */
     public List<Result> grade(final Target... targets) {
-        if (Autograder.getInstance().timeoutMillis == 0) {
-            return gradeUntimed(targets);
+        return startGrading(false, targets).get();
+    }
+
+    // Starts grading the targets, returning a supplier that waits for and
+    // returns the results. If concurrent is true, graders without a time
+    // limit are also run on the shared executor rather than the caller's
+    // thread.
+    private Supplier<List<Result>> startGrading(final boolean concurrent, final Target... targets) {
+        final Autograder autograder = Autograder.getInstance();
+        final ResultCache cache = autograder.getResultCache();
+        final String key = cache == null ? null : cache.getKey(this, targets);
+        if (key != null) {
+            final List<Result> cachedResults = cache.get(key);
+            if (cachedResults != null) {
+                return () -> cachedResults;
+            }
+        }
+        if (autograder.isBudgetExhausted()) {
+            final List<Result> notRunResults = makeNotRunResultList("time budget exhausted");
+            return () -> notRunResults;
+        }
+        final long timeLimit = autograder.getTimeLimitMillis();
+        final Supplier<List<Result>> pending;
+        if (timeLimit != 0) {
+            pending = startTimed(timeLimit, targets);
+        } else if (concurrent) {
+            pending = startUntimed(targets);
         } else {
-            return gradeTimed(targets);
+            pending = () -> gradeUntimed(targets);
         }
+        if (key == null) {
+            return pending;
+        }
+        return () -> {
+            final List<Result> results = pending.get();
+            cache.put(key, results);
+            return results;
+        };
     }
 
     /**
-     * Runs all graders on the provided target.
+     * Grades the provided targets within the specified grading context,
+     * rather than the default {@link Autograder}.
+     *
+     * @param context the grading context
+     * @param targets the targets
+     * @return the results
+     * @see Autograder.Builder#buildContext()
+     */
+    public List<Result> grade(final Autograder context, final Target... targets) {
+        return context.within(() -> grade(targets));
+    }
+
+    // Gets the order in which to run graders. If a submission budget is set,
+    // the graders worth the most points are run first, so that they are the
+    // least likely to be cut off. Otherwise, the graders are run in the
+    // order they were passed.
+    private static List<Integer> getRunOrder(final Grader... graders) {
+        final List<Integer> order = IntStream.range(0, graders.length)
+                .boxed()
+                .collect(Collectors.toList());
+        if (Autograder.getInstance().submissionBudgetMillis != 0) {
+            // The sort is stable, so ties keep their original order.
+            order.sort(Comparator.comparingDouble(
+                    (Integer i) -> graders[i].getMaxScore()).reversed());
+        }
+        return order;
+    }
+
+    /**
+     * Runs all graders on the provided target. If a submission budget is
+     * set, the graders are run in decreasing order of
+     * {@link #getMaxScore()}, but the results are still returned in the
+     * order in which the graders were passed.
      *
      * @param target  the target for each of the graders
      * @param graders graders, in the order they should be run
      * @return the collected results
      * @throws ClientException if {@link Autograder} has not been initialized
+     * @see Autograder.Builder#submissionBudget(long)
      */
     public static List<Result> gradeAll(final Target target, final Grader... graders) {
+        final List<List<Result>> resultsByGrader = new ArrayList<>(
+                Collections.nCopies(graders.length, null));
+        for (final int i : getRunOrder(graders)) {
+            resultsByGrader.set(i, graders[i].grade(target));
+        }
         final List<Result> results = new ArrayList<>();
-        for (final Grader grader : graders) {
-            final List<Result> r = grader.grade(target);
-            results.addAll(r);
+        resultsByGrader.forEach(results::addAll);
+        return results;
+    }
+
+    /**
+     * Runs all graders on the provided target concurrently, on the threads
+     * {@link Autograder} shares among all graders. The graders must be
+     * independent of each other. The results are returned in the order in
+     * which the graders were passed, just as with
+     * {@link #gradeAll(Target, Grader...)}. If a submission budget is set,
+     * the graders worth the most points are started first.
+     *
+     * @param target  the target for each of the graders
+     * @param graders graders, in the order their results should be returned
+     * @return the collected results
+     * @throws ClientException if {@link Autograder} has not been initialized
+     * @see Autograder.Builder#threads(int)
+     */
+    public static List<Result> gradeAllConcurrently(final Target target, final Grader... graders) {
+        final List<Supplier<List<Result>>> pending = new ArrayList<>(
+                Collections.nCopies(graders.length, null));
+        for (final int i : getRunOrder(graders)) {
+            pending.set(i, graders[i].startGrading(true, target));
         }
+        final List<Result> results = new ArrayList<>();
+        pending.forEach(supplier -> results.addAll(supplier.get()));
         return results;
     }
 
+    // Waits for the results of grading submitted by startUntimed().
+    private List<Result> collect(final Future<List<Result>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return makeExceptionResultList(e);
+        } catch (ExecutionException e) {
+            // gradeUntimed() handles grading failures itself, so anything
+            // thrown here is a client error that would have propagated if
+            // the grader had been called directly.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            return makeExceptionResultList(e.getCause());
+        }
+    }
+
+    // Creates the result reported in place of grading when this grader is
+    // not run, which is worth the grader's maximum score.
+    List<Result> makeNotRunResultList(final String reason) {
+        return new ArrayList<>(makeFailureResultList(getMaxScore(), "Not run (" + reason + ")"));
+    }
+
     /**
      * Creates a one-element list holding a result indicating complete success.
      *
@@ -0,0 +1,249 @@
+package com.spertus.jacquard.common;
+
+import com.spertus.jacquard.exceptions.ClientException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * A set of {@link Grader}s and {@link Tester}s with dependencies between
+ * them. Each one is added under an id and may depend on ones that were
+ * added before it. A dependent runs only if the results of each of its
+ * prerequisites satisfy a gate, such as {@link #PASSED}. Otherwise, it is
+ * not run, and a result saying why is reported in its place, which also
+ * prevents anything depending on it from running. Independent branches run
+ * in parallel.
+ *
+ * <p>For example, this runs a JUnit tester only if the code has the
+ * required imports:</p>
+ * <pre>
+ * GraderGraph graph = new GraderGraph.Builder()
+ *     .add("imports", importGrader, target)
+ *     .add("style", checkstyleGrader, target)
+ *     .add("tests", junitTester)
+ *     .dependsOn("tests", "imports")
+ *     .build();
+ * List&lt;Result&gt; results = graph.run();
+ * </pre>
+ */
+public final class GraderGraph {
+    /**
+     * A gate that is satisfied if every prerequisite result earned full
+     * credit. This is the gate used if none is specified.
+     */
+    public static final Predicate<List<Result>> PASSED = results -> results.stream()
+            .allMatch(result -> !(result instanceof ExceptionResult)
+                    && result.getScore() >= result.getMaxScore());
+
+    /**
+     * A gate that is satisfied if no prerequisite result was produced by an
+     * exception, such as a {@link com.spertus.jacquard.exceptions.SubmissionException}
+     * thrown because the code could not be parsed.
+     */
+    public static final Predicate<List<Result>> COMPLETED = results -> results.stream()
+            .noneMatch(ExceptionResult.class::isInstance);
+
+    private final List<Node> nodes;
+
+    /**
+     * A builder for a {@link GraderGraph}.
+     */
+    public static class Builder {
+        private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+        /**
+         * Creates a builder for an empty graph.
+         */
+        public Builder() {
+        }
+
+        private Builder add(final Node node) {
+            if (nodes.containsKey(node.id)) {
+                throw new ClientException("Duplicate id in grader graph: " + node.id);
+            }
+            node.index = nodes.size();
+            nodes.put(node.id, node);
+            return this;
+        }
+
+        /**
+         * Adds a grader, which will be run on the specified targets.
+         *
+         * @param id      a unique id for the grader
+         * @param grader  the grader
+         * @param targets the targets to grade
+         * @return this builder
+         * @throws ClientException if the id is already in use
+         */
+        public Builder add(final String id, final Grader grader, final Target... targets) {
+            return add(new Node(id, () -> grader.grade(targets), grader::makeNotRunResultList));
+        }
+
+        /**
+         * Adds a tester, which is run through {@link Tester#toGrader(String)}.
+         * If it is not run, the result reported in its place is named with
+         * its id and is worth {@link Tester#getMaxScore()} points.
+         *
+         * @param id     a unique id for the tester
+         * @param tester the tester
+         * @return this builder
+         * @throws ClientException if the id is already in use
+         */
+        public Builder add(final String id, final Tester tester) {
+            return add(id, tester.toGrader(id));
+        }
+
+        /**
+         * Specifies that one grader or tester should run only if another
+         * one's results satisfy {@link #PASSED}.
+         *
+         * @param id           the id of the dependent
+         * @param prerequisite the id of the prerequisite
+         * @return this builder
+         * @throws ClientException if either id is unknown or the
+         *                         prerequisite was added after the dependent
+         */
+        public Builder dependsOn(final String id, final String prerequisite) {
+            return dependsOn(id, prerequisite, PASSED);
+        }
+
+        /**
+         * Specifies that one grader or tester should run only if another
+         * one's results satisfy the given gate.
+         *
+         * @param id           the id of the dependent
+         * @param prerequisite the id of the prerequisite
+         * @param gate         the condition on the prerequisite's results
+         * @return this builder
+         * @throws ClientException if either id is unknown or the
+         *                         prerequisite was added after the dependent
+         * @see #PASSED
+         * @see #COMPLETED
+         */
+        public Builder dependsOn(
+                final String id,
+                final String prerequisite,
+                final Predicate<List<Result>> gate) {
+            final Node dependent = getNode(id);
+            final Node required = getNode(prerequisite);
+            // Requiring prerequisites to be added first rules out cycles.
+            if (required.index >= dependent.index) {
+                throw new ClientException(String.format(
+                        "Prerequisite %s must be added before %s.", prerequisite, id));
+            }
+            dependent.prerequisites.put(required, gate);
+            return this;
+        }
+
+        private Node getNode(final String id) {
+            final Node node = nodes.get(id);
+            if (node == null) {
+                throw new ClientException("Unknown id in grader graph: " + id);
+            }
+            return node;
+        }
+
+        /**
+         * Builds the graph.
+         *
+         * @return the graph
+         */
+        public GraderGraph build() {
+            return new GraderGraph(new ArrayList<>(nodes.values()));
+        }
+    }
+
+    private GraderGraph(final List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    // A grader or tester, together with its prerequisites.
+    private static final class Node {
+        private final String id;
+        private final Supplier<List<Result>> action;
+        private final Function<String, List<Result>> notRunResults;
+        private final Map<Node, Predicate<List<Result>>> prerequisites = new LinkedHashMap<>();
+        private int index;
+
+        private Node(
+                final String id,
+                final Supplier<List<Result>> action,
+                final Function<String, List<Result>> notRunResults) {
+            this.id = id;
+            this.action = action;
+            this.notRunResults = notRunResults;
+        }
+
+        // This is called only after all prerequisites have completed.
+        private Outcome evaluate(final Map<Node, CompletableFuture<Outcome>> outcomes) {
+            for (final Map.Entry<Node, Predicate<List<Result>>> entry : prerequisites.entrySet()) {
+                final Node prerequisite = entry.getKey();
+                final Outcome outcome = outcomes.get(prerequisite).join();
+                if (!outcome.ran()) {
+                    return new Outcome(false, notRunResults.apply(
+                            "prerequisite " + prerequisite.id + " was not run"));
+                }
+                if (!entry.getValue().test(outcome.results())) {
+                    return new Outcome(false, notRunResults.apply(
+                            "prerequisite " + prerequisite.id + " did not pass"));
+                }
+            }
+            return new Outcome(true, action.get());
+        }
+    }
+
+    private record Outcome(boolean ran, List<Result> results) {
+    }
+
+    /**
+     * Runs the graders and testers, skipping any whose prerequisites are not
+     * satisfied. Independent ones run concurrently on a bounded pool of
+     * threads.
+     *
+     * @return the results, in the order in which the graders and testers
+     * were added
+     * @throws ClientException if {@link Autograder} has not been initialized
+     */
+    public List<Result> run() {
+        if (nodes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final Autograder context = Autograder.getInstance();
+        final int poolSize = Math.min(nodes.size(), Runtime.getRuntime().availableProcessors());
+        final ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        try {
+            final Map<Node, CompletableFuture<Outcome>> outcomes = new ConcurrentHashMap<>();
+            // Prerequisites are always added before their dependents, so
+            // their futures already exist.
+            for (final Node node : nodes) {
+                final CompletableFuture<?>[] prerequisites = node.prerequisites.keySet().stream()
+                        .map(outcomes::get)
+                        .toArray(CompletableFuture[]::new);
+                outcomes.put(node, CompletableFuture.allOf(prerequisites)
+                        .thenApplyAsync(ignored -> context.within(() -> node.evaluate(outcomes)), pool));
+            }
+            final List<Result> results = new ArrayList<>();
+            for (final Node node : nodes) {
+                results.addAll(collect(outcomes.get(node)).results());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Outcome collect(final CompletableFuture<Outcome> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Graders handle their own failures, so anything thrown here is
+            // an error that would have propagated if it had been called
+            // directly.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.spertus.jacquard.common;
 
 import com.google.common.annotations.VisibleForTesting;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -9,8 +10,12 @@ import java.util.stream.Collectors;
  * The result of an evaluation of student code.
  */
 @SuppressWarnings("PMD.TooManyMethods")
-public class Result {
-    private static final int MAX_MESSAGE_LENGTH = 8192;
+public class Result implements Serializable {
+    private static final long serialVersionUID = 1L;
+    /**
+     * The maximum length of a message. Longer messages are truncated.
+     */
+    public static final int MAX_MESSAGE_LENGTH = 8192;
     private static final String MESSAGE_OVERFLOW_INDICATOR = "...";
 
     private final String name;
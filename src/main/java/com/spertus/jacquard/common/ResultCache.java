@@ -0,0 +1,233 @@
+package com.spertus.jacquard.common;
+
+import com.spertus.jacquard.exceptions.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+
+/**
+ * A cache of {@link Grader} results, so that targets whose contents have not
+ * changed since they were last graded (such as the unchanged files of a
+ * resubmission) are not graded again. Results are keyed on the contents and
+ * paths of the targets, the grader's {@link Grader#getFingerprint()
+ * fingerprint}, and the {@link Autograder}'s Java level and visibility.
+ * Graders without a fingerprint are never cached, nor are results that
+ * include an {@link ExceptionResult}, since they may be caused by transient
+ * problems such as timeouts.
+ *
+ * <p>Entries are kept in memory, evicting the least recently used ones once
+ * the maximum size is reached. If a directory is specified, entries are also
+ * stored there, so they survive across runs of the same assignment.</p>
+ *
+ * @see Autograder.Builder#resultCache(ResultCache)
+ */
+public final class ResultCache {
+    /**
+     * The default maximum number of entries held in memory.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String ENTRY_SUFFIX = ".results";
+    private static final char SEPARATOR = '\0';
+
+    private final Map<String, List<Result>> entries;
+    private final Path directory;
+
+    /**
+     * Creates a cache held only in memory, with up to
+     * {@link #DEFAULT_MAX_ENTRIES} entries.
+     */
+    public ResultCache() {
+        this(DEFAULT_MAX_ENTRIES, null);
+    }
+
+    /**
+     * Creates a cache held in memory, with up to
+     * {@link #DEFAULT_MAX_ENTRIES} entries, and in the specified directory,
+     * which is created if necessary.
+     *
+     * @param directory the directory in which to store entries
+     * @throws ClientException if the directory cannot be created
+     */
+    public ResultCache(final Path directory) {
+        this(DEFAULT_MAX_ENTRIES, directory);
+    }
+
+    /**
+     * Creates a cache held in memory and, optionally, in a directory, which
+     * is created if necessary.
+     *
+     * @param maxEntries the maximum number of entries held in memory, which
+     *                   must be positive
+     * @param directory  the directory in which to store entries, or
+     *                   {@code null} to keep entries only in memory
+     * @throws ClientException if {@code maxEntries} is not positive or the
+     *                         directory cannot be created
+     */
+    public ResultCache(final int maxEntries, final Path directory) {
+        if (maxEntries <= 0) {
+            throw new ClientException("The maximum number of cache entries must be positive.");
+        }
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new ClientException("Unable to create cache directory " + directory, e);
+            }
+        }
+        this.directory = directory;
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, List<Result>> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Computes the hex-encoded hash of the given bytes, which graders may
+     * include in their fingerprints to identify the contents of
+     * configuration files.
+     *
+     * @param bytes the bytes
+     * @return the hash
+     * @see Grader#getFingerprint()
+     */
+    public static String hash(final byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(HASH_ALGORITHM).digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java implementation is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Gets the key for grading the targets with the grader in the current
+    // context, or null if the results should not be cached.
+    String getKey(final Grader grader, final Target... targets) {
+        final String fingerprint = grader.getFingerprint();
+        if (fingerprint == null) {
+            return null;
+        }
+        final Autograder autograder = Autograder.getInstance();
+        final StringBuilder sb = new StringBuilder()
+                .append(grader.getClass().getName()).append(SEPARATOR)
+                .append(fingerprint).append(SEPARATOR)
+                .append(autograder.javaLevel).append(SEPARATOR)
+                .append(autograder.visibility);
+        for (final Target target : targets) {
+            try {
+                sb.append(SEPARATOR).append(target.toPathString())
+                        .append(SEPARATOR).append(target.getContentHash());
+            } catch (SubmissionException e) {
+                // Let the grader report the problem.
+                return null;
+            }
+        }
+        return hash(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Gets a copy of the cached results, or null if there are none.
+    List<Result> get(final String key) {
+        List<Result> results = entries.get(key);
+        if (results == null && directory != null) {
+            results = read(key);
+            if (results != null) {
+                entries.put(key, results);
+            }
+        }
+        return results == null ? null : copy(results);
+    }
+
+    // Caches a copy of the results, unless they include an exception.
+    void put(final String key, final List<Result> results) {
+        if (results.stream().anyMatch(ExceptionResult.class::isInstance)) {
+            return;
+        }
+        final List<Result> copy = copy(results);
+        entries.put(key, copy);
+        if (directory != null) {
+            write(key, copy);
+        }
+    }
+
+    // Results are mutable (see Result.setVisibility()), so callers must not
+    // share the cached instances.
+    private static List<Result> copy(final List<Result> results) {
+        final List<Result> copy = new ArrayList<>(results.size());
+        for (final Result result : results) {
+            copy.add(new Result(
+                    result.getName(),
+                    result.getScore(),
+                    result.getMaxScore(),
+                    result.getMessage(),
+                    result.getVisibility()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Result> read(final String key) {
+        final Path path = directory.resolve(key + ENTRY_SUFFIX);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            return (List<Result>) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Treat an unreadable entry (for example, one written by an
+            // incompatible version of Jacquard) as missing.
+            return null;
+        }
+    }
+
+    private void write(final String key, final List<Result> results) {
+        Path temp = null;
+        try {
+            // Write to a temporary file first so that concurrent readers
+            // never see a partial entry.
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeObject(new ArrayList<>(results));
+            }
+            Files.move(temp, directory.resolve(key + ENTRY_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) { // NOPMD
+            // The entry is still cached in memory.
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private static void deleteQuietly(final Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) { // NOPMD
+                // There is nothing more to do.
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from memory and from the directory, if any.
+     */
+    public void clear() {
+        entries.clear();
+        if (directory != null) {
+            try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+                for (final Path path : paths) {
+                    Files.deleteIfExists(path);
+                }
+            } catch (IOException e) {
+                throw new ClientException("Unable to clear cache directory " + directory, e);
+            }
+        }
+    }
+}
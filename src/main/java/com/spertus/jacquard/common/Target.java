@@ -1,6 +1,6 @@
 package com.spertus.jacquard.common;
 
-import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.exceptions.*;
 
 import java.io.File;
 import java.io.IOException;
@@ -113,6 +113,22 @@ public final class Target {
         }
     }
 
+    /**
+     * Gets a hash of this target's contents, which changes whenever the
+     * contents do.
+     *
+     * @return the hex-encoded SHA-256 hash of this target's contents
+     * @throws SubmissionException if the file cannot be read
+     * @see ResultCache
+     */
+    public String getContentHash() throws SubmissionException {
+        try {
+            return ResultCache.hash(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new SubmissionException("Unable to read file " + path);
+        }
+    }
+
     /**
      * Gets the string representation of this target's absolute path.
      *
@@ -1,6 +1,7 @@
 package com.spertus.jacquard.common;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * The superclass for JUnit-based testers.
@@ -18,4 +19,57 @@ public abstract class Tester {
      * @return the results
      */
     public abstract List<Result> run();
+
+    /**
+     * Gets the maximum number of points this tester can award. Like
+     * {@link Grader#getMaxScore()}, this is used to run the work worth the
+     * most points first when a submission budget is set and to report the
+     * points lost by a tester that could not be run.
+     *
+     * @return the maximum number of points
+     * @see Autograder.Builder#submissionBudget(long)
+     */
+    public abstract double getMaxScore();
+
+    /**
+     * Creates a grader that runs this tester, ignoring any targets it is
+     * given. Unlike {@link #run()}, the grader honors the submission budget
+     * and timeout, so this tester can be run alongside other graders, such
+     * as with {@link Grader#gradeAll(Target, Grader...)}.
+     *
+     * @param name the name of the grader, which is used for the result
+     *             reported if the tester is not run or does not finish
+     * @return the grader
+     * @throws com.spertus.jacquard.exceptions.ClientException if
+     *         {@link Autograder} has not been initialized
+     * @see Autograder.Builder#submissionBudget(long)
+     */
+    public Grader toGrader(final String name) {
+        return new TesterGrader(name, this);
+    }
+
+    private static class TesterGrader extends Grader {
+        private final Tester tester;
+
+        TesterGrader(final String name, final Tester tester) {
+            super(name);
+            this.tester = tester;
+        }
+
+        @Override
+        public double getMaxScore() {
+            return tester.getMaxScore();
+        }
+
+        @Override
+        public Callable<List<Result>> getCallableSingleTarget(final Target target) {
+            return tester::run;
+        }
+
+        // The tests are run once, however many targets there are.
+        @Override
+        public Callable<List<Result>> getCallableMultiTarget(final Target... targets) {
+            return tester::run;
+        }
+    }
 }
@@ -2,14 +2,13 @@ package com.spertus.jacquard.coverage;
 
 import com.spertus.jacquard.common.*;
 import com.spertus.jacquard.exceptions.*;
+import com.spertus.jacquard.junittester.SharedLauncher;
 import org.jacoco.core.analysis.*;
 import org.jacoco.core.data.*;
 import org.jacoco.core.instr.Instrumenter;
 import org.jacoco.core.runtime.*;
 import org.junit.platform.engine.DiscoverySelector;
 import org.junit.platform.engine.discovery.DiscoverySelectors;
-import org.junit.platform.launcher.Launcher;
-import org.junit.platform.launcher.core.LauncherFactory;
 
 import java.io.*;
 import java.util.*;
@@ -19,7 +18,8 @@ import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.r
 /**
  * A grader that uses Jacoco to measure code coverage of tests.
  */
-public class CodeCoverageTester extends Tester {
+public class CodeCoverageTester extends Tester implements Serializable {
+    private static final long serialVersionUID = 1L;
     private static final String GRADER_NAME = "code coverage grader";
     private final String name;
     private final Scorer scorer;
@@ -92,8 +92,7 @@ public class CodeCoverageTester extends Tester {
     }
 
     private static int executeTests(final List<? extends DiscoverySelector> selectors) {
-        final Launcher launcher = LauncherFactory.create();
-        launcher.execute(request().selectors(selectors).build());
+        SharedLauncher.execute(request().selectors(selectors).build());
         return 0;
     }
 
@@ -142,6 +141,11 @@ public class CodeCoverageTester extends Tester {
         }
     }
 
+    @Override
+    public double getMaxScore() {
+        return scorer.getMaxScore();
+    }
+
     @Override
     public List<Result> run() {
         try {
@@ -2,11 +2,15 @@ package com.spertus.jacquard.coverage;
 
 import com.spertus.jacquard.common.Result;
 
+import java.io.Serializable;
+
 /**
  * A way of converting branch coverage and line coverage information
  * into a single score.
  */
-public abstract class Scorer {
+public abstract class Scorer implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /**
      * The maximum score that can be earned.
      */
@@ -21,6 +25,15 @@ public abstract class Scorer {
         this.maxScore = maxScore;
     }
 
+    /**
+     * Gets the maximum score that can be earned.
+     *
+     * @return the maximum score
+     */
+    public double getMaxScore() {
+        return maxScore;
+    }
+
     /**
      * Converts branch coverage and line coverage ratios into a score.
      *
@@ -1,22 +1,24 @@
 package com.spertus.jacquard.crosstester;
 
-import com.spertus.jacquard.common.Result;
+import com.spertus.jacquard.common.*;
 import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.junittester.*;
 import org.junit.platform.engine.*;
 import org.junit.platform.engine.discovery.DiscoverySelectors;
 import org.junit.platform.launcher.*;
 import org.junit.platform.launcher.core.*;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A grader for running student-provided tests against multiple implementations.
  * This can be used to test whether student tests fail intentionally buggy
  * code (which is good) or pass correct code (also good).
  */
-public class CrossTester {
+public class CrossTester implements Serializable {
+    private static final long serialVersionUID = 1L;
     private static final String DELIM = "\\s*,\\s*";
     private static final String FOUND_BUG_TEMPLATE = "Test %s SUCCEEDED by reporting a bug in the %s implementation of %s(): %s\n";
     private static final String MISSED_BUG_TEMPLATE = "Test %s FAILED to report an existing bug in the %s implementation of %s()\n";
@@ -116,7 +118,7 @@ public class CrossTester {
      *                                the expected test class
      */
     public List<Result> run() throws ClassNotFoundException {
-        final List<TestResult> testResults = new ArrayList<>();
+        final List<TestResult> testResults = Collections.synchronizedList(new ArrayList<>());
 
         // Create LauncherDiscoveryRequest.
         LauncherDiscoveryRequestBuilder builder = LauncherDiscoveryRequestBuilder.request();
@@ -133,29 +135,31 @@ public class CrossTester {
         }
         LauncherDiscoveryRequest request = builder.build();
 
-        //  Create Launcher.
-        final Launcher launcher = LauncherFactory.create();
-        launcher.registerTestExecutionListeners(new TestExecutionListener() {
+        //  Create listener.
+        final TestExecutionListener listener = new TestExecutionListener() {
             // TODO: Factor out duplicated code from JUnitTester.
-            private PrintStream ps;
-            private ByteArrayOutputStream baos;
+            // The output of each executing test or container, by unique ID
+            private final Map<String, BoundedOutputStream> outputs = new ConcurrentHashMap<>();
+            // The previous output destination of each executing test's thread
+            private final Map<String, OutputStream> previousDestinations = new ConcurrentHashMap<>();
 
             @Override
             public void executionStarted(final TestIdentifier testIdentifier) {
-                baos = new ByteArrayOutputStream();
-                if (ps != null) {
-                    ps.close();
+                final BoundedOutputStream buffer = new BoundedOutputStream();
+                outputs.put(testIdentifier.getUniqueId(), buffer);
+                final OutputStream previous = OutputMultiplexer.capture(buffer);
+                if (previous != null) {
+                    previousDestinations.put(testIdentifier.getUniqueId(), previous);
                 }
-                ps = new PrintStream(baos, true, StandardCharsets.UTF_8);
-                System.setOut(ps);
-                // TODO: Capture System.err.
             }
 
             @Override
             public void executionFinished(
                     final TestIdentifier testIdentifier,
                     final TestExecutionResult testExecutionResult) {
-                if (!testIdentifier.getType().isTest()) {
+                final BoundedOutputStream buffer = outputs.remove(testIdentifier.getUniqueId());
+                OutputMultiplexer.restore(previousDestinations.remove(testIdentifier.getUniqueId()));
+                if (!testIdentifier.getType().isTest() || buffer == null) {
                     return;
                 }
                 final String mutName = Arrays
@@ -171,7 +175,7 @@ public class CrossTester {
                         break;
                     }
                 }
-                final String output = baos.toString().trim();
+                final String output = buffer.toString().trim();
                 testResults.add(switch (testExecutionResult.getStatus()) {
                     case SUCCESSFUL -> TestResult.makeSuccess(
                             testIdentifier.getDisplayName(),
@@ -189,23 +193,67 @@ public class CrossTester {
                 });
                 TestExecutionListener.super.executionFinished(testIdentifier, testExecutionResult);
             }
-        });
-
-        // Prepare to mess with streams.
-        final PrintStream originalOut = System.out; // NOPMD
-        final PrintStream originalErr = System.err; // NOPMD
+        };
 
         // Run tests.
-        launcher.execute(request);
-
-        // Restore streams.
-        System.setOut(originalOut);
-        System.setErr(originalErr);
+        SharedLauncher.execute(request, listener);
 
         // Generate and return results.
         return generateResults(testResults);
     }
 
+    /**
+     * Gets the maximum number of points these tests can award, which is the
+     * sum of the absolute values of the points in the CSV file.
+     *
+     * @return the maximum number of points
+     */
+    public double getMaxScore() {
+        return Arrays.stream(points)
+                .flatMapToDouble(Arrays::stream)
+                .map(Math::abs)
+                .sum();
+    }
+
+    /**
+     * Creates a {@link Tester} that runs these tests, so they can be run
+     * wherever a tester can, such as in a worker JVM or, through
+     * {@link Tester#toGrader(String)}, within the submission budget. If a
+     * package under test does not contain the test class, the tester
+     * returns an error result.
+     *
+     * @return the tester
+     */
+    public Tester toTester() {
+        return new CrossTesterAdapter(this);
+    }
+
+    // CrossTester does not extend Tester because its run() method declares
+    // a checked exception.
+    private static class CrossTesterAdapter extends Tester implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final CrossTester crossTester;
+
+        CrossTesterAdapter(final CrossTester crossTester) {
+            super();
+            this.crossTester = crossTester;
+        }
+
+        @Override
+        public double getMaxScore() {
+            return crossTester.getMaxScore();
+        }
+
+        @Override
+        public List<Result> run() {
+            try {
+                return crossTester.run();
+            } catch (ClassNotFoundException e) {
+                return List.of(Result.makeError(CrossTester.class.getSimpleName(), e));
+            }
+        }
+    }
+
     private List<Result> generateResults(final List<TestResult> testResults) {
         final List<Result> results = new ArrayList<>();
         for (int mutIndex = 0; mutIndex < methodNames.length; mutIndex++) {
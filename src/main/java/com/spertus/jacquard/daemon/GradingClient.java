@@ -0,0 +1,129 @@
+package com.spertus.jacquard.daemon;
+
+import com.spertus.jacquard.exceptions.ClientException;
+import org.json.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * A client of a {@link GradingDaemon}. Besides being usable from Java, it
+ * has a {@link #main(String[])} method that can replace the per-submission
+ * autograder invocation in a grading script:
+ * <pre>
+ * java -cp jacquard.jar com.spertus.jacquard.daemon.GradingClient \
+ *     --socket /tmp/jacquard.sock hw1 /autograder/submission \
+ *     &gt; /autograder/results/results.json
+ * </pre>
+ */
+public final class GradingClient implements AutoCloseable {
+    private static final String USAGE =
+            "Usage: GradingClient (--socket PATH | --port PORT) CONFIGURATION SUBMISSION_DIR";
+
+    private final SocketChannel channel;
+    private final BufferedReader reader;
+    private final Writer writer;
+
+    /**
+     * Connects to a daemon.
+     *
+     * @param address the daemon's address, such as from
+     *                {@link GradingDaemon#getAddress()}
+     * @throws ClientException if the connection cannot be made
+     */
+    public GradingClient(final SocketAddress address) {
+        try {
+            channel = SocketChannel.open(address);
+        } catch (IOException e) {
+            throw new ClientException("Unable to connect to grading daemon at " + address, e);
+        }
+        reader = new BufferedReader(new InputStreamReader(
+                Channels.newInputStream(channel), StandardCharsets.UTF_8));
+        writer = new BufferedWriter(new OutputStreamWriter(
+                Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Has a submission graded by the daemon.
+     *
+     * @param configuration the name of a configuration registered with the
+     *                      daemon
+     * @param submission    the root directory of the submission, which must
+     *                      be readable by the daemon
+     * @return the results, in the form produced by
+     * {@link com.spertus.jacquard.publisher.GradescopePublisher#serializeResults(java.util.List)}
+     * @throws ClientException if the daemon cannot be reached or reports an
+     *                         error
+     */
+    public String grade(final String configuration, final Path submission) {
+        final String request = new JSONObject()
+                .put(GradingDaemon.CONFIGURATION_KEY, configuration)
+                .put(GradingDaemon.SUBMISSION_KEY, submission.toAbsolutePath().toString())
+                .toString();
+        final String response;
+        try {
+            writer.write(request);
+            writer.write('\n');
+            writer.flush();
+            response = reader.readLine();
+        } catch (IOException e) {
+            throw new ClientException("Unable to communicate with grading daemon", e);
+        }
+        if (response == null) {
+            throw new ClientException("Grading daemon closed the connection");
+        }
+        final JSONObject json = new JSONObject(response);
+        if (json.has(GradingDaemon.ERROR_KEY)) {
+            throw new ClientException("Grading daemon reported: " + json.getString(GradingDaemon.ERROR_KEY));
+        }
+        return response;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) { // NOPMD
+            // There is nothing more to do with the connection.
+        }
+    }
+
+    private static SocketAddress parseAddress(final String option, final String value) {
+        return switch (option) {
+            case "--socket" -> UnixDomainSocketAddress.of(value);
+            case "--port" -> new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(value));
+            default -> throw new IllegalArgumentException(option);
+        };
+    }
+
+    /**
+     * Has a submission graded by a daemon, writing the results to standard
+     * output. On failure, a message is written to standard error and the
+     * exit status is nonzero.
+     *
+     * @param args the address option and value, the configuration name, and
+     *             the submission directory
+     */
+    public static void main(final String[] args) {
+        final SocketAddress address;
+        try {
+            if (args.length != 4) {
+                throw new IllegalArgumentException();
+            }
+            address = parseAddress(args[0], args[1]);
+        } catch (IllegalArgumentException e) {
+            System.err.println(USAGE); // NOPMD
+            System.exit(2);
+            return;
+        }
+        try (GradingClient client = new GradingClient(address)) {
+            System.out.println(client.grade(args[2], Path.of(args[3]))); // NOPMD
+        } catch (ClientException e) {
+            System.err.println(e.getMessage()); // NOPMD
+            System.exit(1);
+        }
+    }
+}
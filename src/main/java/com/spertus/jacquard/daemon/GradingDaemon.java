@@ -0,0 +1,331 @@
+package com.spertus.jacquard.daemon;
+
+import com.spertus.jacquard.batch.BatchAutograder;
+import com.spertus.jacquard.common.Result;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.publisher.GradescopePublisher;
+import org.json.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A long-running server that grades submissions on request, so the cost of
+ * starting a JVM and loading JavaParser and PMD is paid once rather than for
+ * every submission. The course's grading code registers one or more named
+ * configurations, each a {@link BatchAutograder}, and starts the daemon.
+ * Jobs are then submitted through {@link GradingClient}.
+ *
+ * <p>Since configurations are batch autograders, the daemon runs only
+ * {@link com.spertus.jacquard.common.Grader}s, such as syntax, Checkstyle
+ * and PMD graders, which read submissions from their directories. It does
+ * not run {@link com.spertus.jacquard.common.Tester}s, which test classes
+ * loaded by the JVM and so cannot be given a different submission's
+ * classes for each request. Tests should be run separately, such as by a
+ * new JVM for each submission.</p>
+ *
+ * <p>The daemon listens on a Unix domain socket or on a port of the loopback
+ * interface. Each request is a line of JSON naming a configuration and the
+ * root directory of a submission, such as
+ * <code>{"configuration": "hw1", "submission": "/autograder/submission"}</code>.
+ * Each response is a line of JSON, which is either the results in the form
+ * produced by {@link GradescopePublisher#serializeResults(List)} or an
+ * object with an {@code "error"} key. A connection may be used for any
+ * number of requests. At most {@link #DEFAULT_MAX_CONNECTIONS} connections,
+ * or the number set through {@link #maxConnections(int)}, are served at
+ * once. Further connections wait until one is closed.</p>
+ *
+ * <p>The daemon does not authenticate clients, so it should only be run
+ * where every local user is trusted with the submissions it can read.</p>
+ */
+public final class GradingDaemon implements AutoCloseable {
+    /**
+     * The key of the configuration name in a request.
+     */
+    public static final String CONFIGURATION_KEY = "configuration";
+
+    /**
+     * The key of the submission directory in a request.
+     */
+    public static final String SUBMISSION_KEY = "submission";
+
+    /**
+     * The key of the error message in a response to a failed request.
+     */
+    public static final String ERROR_KEY = "error";
+
+    /**
+     * The default maximum number of connections served at once.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 64;
+
+    private static final long IDLE_THREAD_SECONDS = 60;
+
+    // Classes whose loading and static initialization is slow enough to be
+    // worth doing before the first request arrives. Any that are not on the
+    // class path are skipped.
+    private static final List<String> WARM_UP_CLASSES = List.of(
+            "com.github.javaparser.JavaParser",
+            "com.github.javaparser.ast.CompilationUnit",
+            "net.sourceforge.pmd.PmdAnalysis",
+            "net.sourceforge.pmd.lang.java.JavaLanguageModule");
+
+    private final ServerSocketChannel serverChannel;
+    private final Path socketPath;
+    private final Map<String, BatchAutograder> configurations = new ConcurrentHashMap<>();
+    private final GradescopePublisher publisher = new GradescopePublisher();
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    // Created by start(), with a thread and a permit for each connection
+    private ThreadPoolExecutor connectionPool;
+    private Semaphore connectionPermits;
+    private Thread acceptThread;
+    private volatile boolean closed;
+
+    private GradingDaemon(final ServerSocketChannel serverChannel, final Path socketPath) {
+        this.serverChannel = serverChannel;
+        this.socketPath = socketPath;
+    }
+
+    /**
+     * Creates a daemon that will listen on a Unix domain socket. Any file
+     * already at the socket path is replaced.
+     *
+     * @param socketPath the path of the socket
+     * @return the daemon, which has not yet been started
+     * @throws ClientException if the socket cannot be created
+     */
+    public static GradingDaemon onUnixSocket(final Path socketPath) {
+        try {
+            Files.deleteIfExists(socketPath);
+            final ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.bind(UnixDomainSocketAddress.of(socketPath));
+            return new GradingDaemon(channel, socketPath);
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new ClientException("Unable to listen on socket " + socketPath, e);
+        }
+    }
+
+    /**
+     * Creates a daemon that will listen on a port of the loopback interface,
+     * so it cannot be reached from other machines.
+     *
+     * @param port the port, or 0 for any free port
+     * @return the daemon, which has not yet been started
+     * @throws ClientException if the port cannot be bound
+     * @see #getAddress()
+     */
+    public static GradingDaemon onLocalPort(final int port) {
+        try {
+            final ServerSocketChannel channel = ServerSocketChannel.open();
+            channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            return new GradingDaemon(channel, null);
+        } catch (IOException e) {
+            throw new ClientException("Unable to listen on port " + port, e);
+        }
+    }
+
+    /**
+     * Gets the address on which this daemon listens, which is needed to
+     * construct a {@link GradingClient}.
+     *
+     * @return the address
+     */
+    public SocketAddress getAddress() {
+        try {
+            return serverChannel.getLocalAddress();
+        } catch (IOException e) {
+            throw new ClientException("Unable to get daemon address", e);
+        }
+    }
+
+    /**
+     * Registers a grading configuration under a name, which clients use to
+     * select it.
+     *
+     * @param name  the name of the configuration
+     * @param batch the batch autograder used to grade submissions
+     * @return this daemon
+     * @throws ClientException if the name is already registered
+     */
+    public GradingDaemon register(final String name, final BatchAutograder batch) {
+        if (configurations.putIfAbsent(name, batch) != null) {
+            throw new ClientException("Configuration already registered: " + name);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of connections served at once, which is
+     * {@link #DEFAULT_MAX_CONNECTIONS} by default. Further connections wait
+     * until one is closed.
+     *
+     * @param maxConnections the maximum number of connections
+     * @return this daemon
+     * @throws ClientException if the number is not positive or the daemon
+     *                         has already been started
+     */
+    public synchronized GradingDaemon maxConnections(final int maxConnections) {
+        if (maxConnections <= 0) {
+            throw new ClientException("The maximum number of connections must be positive.");
+        }
+        if (acceptThread != null) {
+            throw new ClientException("The maximum number of connections must be set before starting.");
+        }
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * Loads and initializes the classes of the grading subsystems, then
+     * grades a sample submission with each registered configuration,
+     * discarding the results. This makes the first real request as fast as
+     * later ones.
+     *
+     * @param sampleSubmission the root directory of a sample submission,
+     *                         which is ideally complete and correct
+     * @return this daemon
+     */
+    public GradingDaemon warmUp(final Path sampleSubmission) {
+        final ClassLoader loader = getClass().getClassLoader();
+        for (final String className : WARM_UP_CLASSES) {
+            try {
+                Class.forName(className, true, loader);
+            } catch (ClassNotFoundException | LinkageError e) { // NOPMD
+                // The subsystem is not available, so it need not be warmed up.
+            }
+        }
+        configurations.values().forEach(batch -> batch.grade(sampleSubmission));
+        return this;
+    }
+
+    /**
+     * Starts accepting requests on a background thread.
+     *
+     * @return this daemon
+     * @throws ClientException if the daemon has already been started or closed
+     */
+    public synchronized GradingDaemon start() {
+        if (acceptThread != null || closed) {
+            throw new ClientException("A GradingDaemon can be started only once.");
+        }
+        connectionPermits = new Semaphore(maxConnections);
+        connectionPool = new ThreadPoolExecutor(
+                maxConnections, maxConnections, IDLE_THREAD_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    final Thread thread = new Thread(runnable, "jacquard-daemon-connection");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        connectionPool.allowCoreThreadTimeOut(true);
+        acceptThread = new Thread(this::acceptConnections, "jacquard-daemon");
+        acceptThread.start();
+        return this;
+    }
+
+    /**
+     * Waits until this daemon is closed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitTermination() throws InterruptedException {
+        final Thread thread;
+        synchronized (this) {
+            thread = acceptThread;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!closed) {
+            try {
+                // Connections beyond the limit wait in the socket's backlog.
+                connectionPermits.acquire();
+                final SocketChannel channel = serverChannel.accept();
+                connectionPool.execute(() -> serve(channel));
+            } catch (InterruptedException e) {
+                // close() was called.
+                return;
+            } catch (IOException | RejectedExecutionException e) {
+                if (!closed) {
+                    System.err.println("Jacquard daemon stopped accepting connections: " + e); // NOPMD
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(final SocketChannel channel) {
+        try (channel;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     Channels.newInputStream(channel), StandardCharsets.UTF_8));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     Channels.newOutputStream(channel), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    writer.write(handle(line));
+                    writer.write('\n');
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) { // NOPMD
+            // The client went away, so there is no one to report this to.
+        } finally {
+            connectionPermits.release();
+        }
+    }
+
+    // Produces the response to a single request.
+    String handle(final String request) {
+        try {
+            final JSONObject json = new JSONObject(request);
+            final String name = json.getString(CONFIGURATION_KEY);
+            final BatchAutograder batch = configurations.get(name);
+            if (batch == null) {
+                return makeError("Unknown configuration: " + name);
+            }
+            final List<Result> results = batch.grade(Path.of(json.getString(SUBMISSION_KEY)));
+            return publisher.serializeResults(results);
+        } catch (JSONException e) {
+            return makeError("Malformed request: " + e.getMessage());
+        } catch (RuntimeException e) { // NOPMD
+            // Keep serving other requests even if this one failed.
+            return makeError(String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static String makeError(final String message) {
+        return new JSONObject().put(ERROR_KEY, message).toString();
+    }
+
+    /**
+     * Stops accepting requests and releases the socket. Requests that are
+     * being graded are allowed to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverChannel.close();
+            if (socketPath != null) {
+                Files.deleteIfExists(socketPath);
+            }
+        } catch (IOException e) { // NOPMD
+            // The daemon is shutting down anyway.
+        }
+        synchronized (this) {
+            if (acceptThread != null) {
+                // Stop waiting for a connection permit.
+                acceptThread.interrupt();
+                connectionPool.shutdown();
+            }
+        }
+    }
+}
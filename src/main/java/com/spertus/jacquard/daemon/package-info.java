@@ -0,0 +1,6 @@
+/**
+ * A long-running grading server, which avoids paying JVM startup and class
+ * loading costs for every submission, and the client used to submit jobs
+ * to it.
+ */
+package com.spertus.jacquard.daemon;
@@ -0,0 +1,62 @@
+package com.spertus.jacquard.isolation;
+
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.crosstester.CrossTester;
+import com.spertus.jacquard.exceptions.ClientException;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A tester that runs another tester in a worker JVM from a {@link WorkerPool}.
+ * If the code under test runs past the timeout, exhausts the worker's heap,
+ * or calls {@link System#exit(int)}, only the worker is affected, and an
+ * error {@link Result} is produced.
+ * <p>
+ * The wrapped tester is serialized and sent to the worker, so it must be
+ * {@link Serializable}, as {@link com.spertus.jacquard.junittester.JUnitTester},
+ * {@link com.spertus.jacquard.coverage.CodeCoverageTester}, and
+ * {@link CrossTester} are. The worker uses the same class path as this JVM.
+ */
+public class IsolatedTester extends Tester {
+    private final WorkerPool pool;
+    private final Tester tester;
+    private final String name;
+
+    /**
+     * Creates a tester that runs the provided tester in a worker JVM.
+     *
+     * @param pool   the pool of worker JVMs
+     * @param tester the tester, which must be {@link Serializable}
+     * @throws ClientException if the tester is not serializable
+     */
+    public IsolatedTester(final WorkerPool pool, final Tester tester) {
+        super();
+        if (!(tester instanceof Serializable)) {
+            throw new ClientException(tester.getClass().getName() + " must be Serializable to be isolated.");
+        }
+        this.pool = pool;
+        this.tester = tester;
+        this.name = tester.getClass().getSimpleName();
+    }
+
+    /**
+     * Creates a tester that runs the provided cross tester in a worker JVM.
+     *
+     * @param pool        the pool of worker JVMs
+     * @param crossTester the cross tester
+     */
+    public IsolatedTester(final WorkerPool pool, final CrossTester crossTester) {
+        this(pool, crossTester.toTester());
+    }
+
+    @Override
+    public double getMaxScore() {
+        return tester.getMaxScore();
+    }
+
+    @Override
+    public List<Result> run() {
+        return pool.run(name, tester);
+    }
+}
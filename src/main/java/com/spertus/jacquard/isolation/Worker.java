@@ -0,0 +1,83 @@
+package com.spertus.jacquard.isolation;
+
+import com.spertus.jacquard.common.*;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+
+// A child JVM running WorkerMain, together with the pipes used to talk to it.
+class Worker {
+    private final Process process;
+    private final ObjectOutputStream out;
+    private ObjectInputStream in; // created on first read, which blocks on the stream header
+    private volatile boolean killed;
+
+    private Worker(final Process process) throws IOException {
+        this.process = process;
+        out = new ObjectOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        out.flush();
+    }
+
+    static Worker start(final int maxHeapMegabytes) throws IOException {
+        final List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + maxHeapMegabytes + "m",
+                "-XX:+ExitOnOutOfMemoryError",
+                "-cp",
+                System.getProperty("java.class.path"),
+                WorkerMain.class.getName());
+        final Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        return new Worker(process);
+    }
+
+    // Sends the request to the worker and waits for its results. This throws
+    // an IOException if the worker dies, including if it is killed.
+    @SuppressWarnings("unchecked")
+    List<Result> run(final WorkerRequest request) throws IOException, ClassNotFoundException {
+        out.writeObject(request);
+        out.reset();
+        out.flush();
+        if (in == null) {
+            in = new ObjectInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+        return (List<Result>) in.readObject();
+    }
+
+    void kill() {
+        killed = true;
+        process.destroyForcibly();
+    }
+
+    boolean wasKilled() {
+        return killed;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    // Returns the exit code, waiting briefly for the process to terminate,
+    // or null if it has not terminated.
+    Integer exitCode() {
+        try {
+            if (process.waitFor(1, java.util.concurrent.TimeUnit.SECONDS)) {
+                return process.exitValue();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            // The worker is being discarded anyway.
+        }
+        process.destroyForcibly();
+    }
+}
@@ -0,0 +1,78 @@
+package com.spertus.jacquard.isolation;
+
+import com.spertus.jacquard.common.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The entry point of a worker JVM started by {@link WorkerPool}. This is not
+ * intended to be called by clients.
+ * <p>
+ * A worker repeatedly reads a serialized {@link Tester} from standard input,
+ * runs it, and writes the serialized list of {@link Result}s to standard
+ * output. Each tester is run in an {@link Autograder} context with the Java
+ * level and visibility of the context in which the parent ran it. Anything
+ * printed to {@link System#out} by the code under test is redirected to
+ * standard error so it cannot corrupt the protocol.
+ */
+public final class WorkerMain {
+    private WorkerMain() {
+    }
+
+    /**
+     * Runs a worker.
+     *
+     * @param args ignored
+     * @throws IOException if communication with the parent JVM fails
+     */
+    public static void main(final String[] args) throws IOException {
+        final ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        out.flush();
+        System.setOut(System.err);
+
+        // Errors reading requests are reported with the default settings.
+        final Autograder defaultContext = makeContext(new Autograder.Builder());
+        // Contexts are reused by requests with the same settings.
+        final Map<List<Object>, Autograder> contexts = new HashMap<>();
+        final ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(System.in));
+        while (true) {
+            final WorkerRequest request;
+            try {
+                request = (WorkerRequest) in.readObject();
+            } catch (EOFException e) {
+                // The parent closed the pipe.
+                return;
+            } catch (ClassNotFoundException e) {
+                write(out, defaultContext.within(() -> List.of(Result.makeError("worker", e))));
+                continue;
+            }
+            final Autograder context = contexts.computeIfAbsent(
+                    List.of(request.javaLevel(), request.visibility()),
+                    key -> makeContext(new Autograder.Builder()
+                            .javaLevel(request.javaLevel())
+                            .visibility(request.visibility())));
+            write(out, context.within(() -> run(request.tester())));
+        }
+    }
+
+    private static Autograder makeContext(final Autograder.Builder builder) {
+        // The parent enforces time limits, so no timeout is set here.
+        return builder.timeout(0).buildContext();
+    }
+
+    private static List<Result> run(final Tester tester) {
+        try {
+            return tester.run();
+        } catch (Exception e) { // NOPMD
+            return List.of(Result.makeError(tester.getClass().getSimpleName(), e));
+        }
+    }
+
+    private static void write(final ObjectOutputStream out, final List<Result> results) throws IOException {
+        out.writeObject(new ArrayList<>(results));
+        out.reset();
+        out.flush();
+    }
+}
@@ -0,0 +1,152 @@
+package com.spertus.jacquard.isolation;
+
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.*;
+import com.spertus.jacquard.exceptions.TimeoutException;
+
+import java.io.*;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * A pool of reusable worker JVMs in which {@link IsolatedTester}s run. Each
+ * worker has its own heap limit. A watchdog kills any worker that runs longer
+ * than {@link Autograder#getTimeLimitMillis()}, producing a {@link TimeoutException}
+ * result, and the worker is replaced the next time one is needed. A worker
+ * that exits, for example because the code under test called
+ * {@link System#exit(int)}, is replaced in the same way.
+ * <p>
+ * Workers are reused between runs, so static state set by one run may be
+ * visible to later runs in the same worker. The pool should be closed when
+ * grading is complete.
+ */
+public class WorkerPool implements AutoCloseable {
+    /**
+     * The default maximum heap size of each worker, in megabytes.
+     */
+    public static final int DEFAULT_MAX_HEAP_MEGABYTES = 512;
+
+    private final int maxHeapMegabytes;
+    private final Semaphore permits;
+    private final BlockingQueue<Worker> idleWorkers = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService watchdog =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "jacquard-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool of worker JVMs. Workers are started as they are needed.
+     *
+     * @param size             the maximum number of workers, which must be positive
+     * @param maxHeapMegabytes the maximum heap size of each worker, in megabytes
+     * @throws ClientException if either argument is not positive
+     */
+    public WorkerPool(final int size, final int maxHeapMegabytes) {
+        if (size <= 0) {
+            throw new ClientException("The size of a WorkerPool must be positive.");
+        }
+        if (maxHeapMegabytes <= 0) {
+            throw new ClientException("The maximum heap size must be positive.");
+        }
+        this.maxHeapMegabytes = maxHeapMegabytes;
+        permits = new Semaphore(size);
+    }
+
+    /**
+     * Creates a pool of worker JVMs, each with a maximum heap size of
+     * {@link #DEFAULT_MAX_HEAP_MEGABYTES}. Workers are started as they are
+     * needed.
+     *
+     * @param size the maximum number of workers, which must be positive
+     * @throws ClientException if the size is not positive
+     */
+    public WorkerPool(final int size) {
+        this(size, DEFAULT_MAX_HEAP_MEGABYTES);
+    }
+
+    // Runs the tester in a worker, waiting for one to become free if necessary.
+    List<Result> run(final String name, final Tester tester) {
+        if (closed) {
+            throw new ClientException("The WorkerPool has been closed.");
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of(Result.makeError(name, e));
+        }
+        try {
+            return runInWorker(name, tester, acquireWorker());
+        } catch (IOException e) {
+            return List.of(Result.makeError(name, new InternalException("Unable to start worker JVM", e)));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Worker acquireWorker() throws IOException {
+        Worker worker = idleWorkers.poll();
+        while (worker != null && !worker.isAlive()) {
+            worker.close();
+            worker = idleWorkers.poll();
+        }
+        return worker == null ? Worker.start(maxHeapMegabytes) : worker;
+    }
+
+    private List<Result> runInWorker(final String name, final Tester tester, final Worker worker) {
+        final WorkerRequest request = WorkerRequest.of(tester);
+        final long timeoutMillis = Autograder.getInstance().getTimeLimitMillis();
+        final ScheduledFuture<?> watch = timeoutMillis == 0 ? null
+                : watchdog.schedule(worker::kill, timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            final List<Result> results = worker.run(request);
+            if (watch == null || watch.cancel(false)) {
+                release(worker);
+            } else {
+                worker.close();
+            }
+            return results;
+        } catch (NotSerializableException e) {
+            worker.close();
+            return List.of(Result.makeError(name,
+                    new ClientException("The tester could not be sent to a worker JVM", e)));
+        } catch (IOException | ClassNotFoundException e) {
+            if (watch != null) {
+                watch.cancel(false);
+            }
+            final Integer exitCode = worker.wasKilled() ? null : worker.exitCode();
+            worker.close();
+            if (worker.wasKilled()) {
+                return List.of(Result.makeError(name, new TimeoutException("Operation timed out")));
+            }
+            return List.of(Result.makeError(name, new SubmissionException(
+                    String.format("Worker JVM exited (code %s), possibly because the code under test "
+                                    + "called System.exit() or ran out of memory",
+                            exitCode == null ? "unknown" : exitCode))));
+        }
+    }
+
+    private void release(final Worker worker) {
+        idleWorkers.add(worker);
+        // Handle a race with close().
+        if (closed && idleWorkers.remove(worker)) {
+            worker.close();
+        }
+    }
+
+    /**
+     * Stops all workers. No more testers may be run after this is called.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Worker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.close();
+        }
+        watchdog.shutdownNow();
+    }
+}
@@ -0,0 +1,16 @@
+package com.spertus.jacquard.isolation;
+
+import com.spertus.jacquard.common.*;
+
+import java.io.Serializable;
+
+// A tester sent to a worker, together with the settings of the Autograder
+// in which it was run, which may differ between runs in the same worker.
+record WorkerRequest(Tester tester, int javaLevel, Visibility visibility) implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    static WorkerRequest of(final Tester tester) {
+        final Autograder autograder = Autograder.getInstance();
+        return new WorkerRequest(tester, autograder.javaLevel, autograder.visibility);
+    }
+}
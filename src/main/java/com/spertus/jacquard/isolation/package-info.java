@@ -0,0 +1,6 @@
+/**
+ * Support for running testers in separate JVMs, so that student code that
+ * loops forever, exhausts memory, or calls {@link System#exit(int)} cannot
+ * harm the autograder.
+ */
+package com.spertus.jacquard.isolation;
@@ -0,0 +1,119 @@
+package com.spertus.jacquard.junittester;
+
+import com.spertus.jacquard.common.Result;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A stream that captures output in a fixed amount of memory, no matter how
+ * much is written. Once it is full, it keeps the first and last bytes
+ * written and counts the bytes dropped in between, which are replaced by a
+ * note in {@link #toString()}. This keeps a test that prints in a loop
+ * from exhausting the heap.
+ */
+public final class BoundedOutputStream extends OutputStream {
+    /**
+     * The default capacity in bytes, which is half of
+     * {@link Result#MAX_MESSAGE_LENGTH}, leaving room in a result's message
+     * for other information, such as a test's description.
+     */
+    public static final int DEFAULT_CAPACITY = Result.MAX_MESSAGE_LENGTH / 2;
+
+    private static final String OMISSION_TEMPLATE = "\n... [%d bytes omitted] ...\n";
+
+    private final byte[] head;
+    private int headLength;
+    // A circular buffer of the bytes written after the head was full
+    private final byte[] tail;
+    private int tailStart;
+    private int tailLength;
+    private long droppedCount;
+
+    /**
+     * Creates a stream with {@link #DEFAULT_CAPACITY}.
+     */
+    public BoundedOutputStream() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a stream that holds at most the specified number of bytes,
+     * half from the start of the output and half from the end.
+     *
+     * @param capacity the number of bytes
+     * @throws IllegalArgumentException if capacity &lt; 2
+     */
+    public BoundedOutputStream(final int capacity) {
+        super();
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        head = new byte[capacity / 2];
+        tail = new byte[capacity - head.length];
+    }
+
+    @Override
+    public synchronized void write(final int b) {
+        if (headLength < head.length) {
+            head[headLength++] = (byte) b;
+        } else if (tailLength < tail.length) {
+            tail[(tailStart + tailLength++) % tail.length] = (byte) b;
+        } else {
+            // Overwrite the oldest byte of the tail.
+            tail[tailStart] = (byte) b;
+            tailStart = (tailStart + 1) % tail.length;
+            droppedCount++;
+        }
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        // Bytes that would be overwritten before this returns are skipped.
+        final int headCount = Math.min(len, head.length - headLength);
+        System.arraycopy(b, off, head, headLength, headCount);
+        headLength += headCount;
+        final int skipped = Math.max(0, len - headCount - tail.length);
+        final int start = off + headCount + skipped;
+        final int count = off + len - start;
+        final int overwritten = Math.max(0, tailLength + count - tail.length);
+        final int end = (tailStart + tailLength) % tail.length;
+        final int firstCount = Math.min(count, tail.length - end);
+        System.arraycopy(b, start, tail, end, firstCount);
+        System.arraycopy(b, start + firstCount, tail, 0, count - firstCount);
+        tailLength = Math.min(tail.length, tailLength + count);
+        tailStart = (tailStart + overwritten) % tail.length;
+        droppedCount += skipped + overwritten;
+    }
+
+    /**
+     * Gets the number of bytes that were written but not kept.
+     *
+     * @return the number of bytes
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Gets the output, decoded as UTF-8. If bytes were dropped, they are
+     * replaced by a note of how many there were.
+     *
+     * @return the output
+     */
+    @Override
+    public synchronized String toString() {
+        final String headString = new String(head, 0, headLength, StandardCharsets.UTF_8);
+        final byte[] tailBytes = new byte[tailLength];
+        for (int i = 0; i < tailLength; i++) {
+            tailBytes[i] = tail[(tailStart + i) % tail.length];
+        }
+        final String tailString = new String(tailBytes, StandardCharsets.UTF_8);
+        if (droppedCount == 0) {
+            return headString + tailString;
+        }
+        return headString + String.format(OMISSION_TEMPLATE, droppedCount) + tailString;
+    }
+}
@@ -1,6 +1,7 @@
 package com.spertus.jacquard.junittester;
 
 import com.spertus.jacquard.common.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -17,6 +18,7 @@ import java.lang.annotation.Target;
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD})
+@ExtendWith(GradedTestTimeout.class)
 public @interface GradedTest {
     /**
      * The name of the test. If this is not set, the name of the test method
@@ -54,4 +56,15 @@ public @interface GradedTest {
      * @return the visibility level of the test
      */
     Visibility visibility() default Visibility.VISIBLE;
+
+    /**
+     * The number of milliseconds the test may run, or 0 if there is no
+     * limit. A test that runs longer fails with a
+     * {@link java.util.concurrent.TimeoutException}. It is interrupted and,
+     * if it does not stop promptly, abandoned, so the following tests can
+     * run. This does not include time spent in setup and teardown methods.
+     *
+     * @return the time limit in milliseconds, or 0 if there is no limit
+     */
+    long timeoutMillis() default 0;
 }
@@ -0,0 +1,78 @@
+package com.spertus.jacquard.junittester;
+
+import org.junit.jupiter.api.extension.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An extension that enforces {@link GradedTest#timeoutMillis()}. It is
+ * registered by the {@link GradedTest} annotation. A test with a time limit
+ * runs on its own thread. If the thread is still running when the limit is
+ * reached, it is interrupted. If it then does not stop within
+ * {@link #INTERRUPT_GRACE_MILLIS}, it is abandoned, so the total time spent
+ * on tests is bounded by the sum of their limits. An abandoned thread is a
+ * daemon thread, so it does not keep the JVM from exiting, but it may keep
+ * running while the following tests run.
+ */
+final class GradedTestTimeout implements InvocationInterceptor {
+    /**
+     * The number of milliseconds an interrupted test has to stop before it
+     * is abandoned.
+     */
+    static final long INTERRUPT_GRACE_MILLIS = 100;
+
+    @Override
+    public void interceptTestMethod(
+            final Invocation<Void> invocation,
+            final ReflectiveInvocationContext<Method> invocationContext,
+            final ExtensionContext extensionContext) throws Throwable {
+        proceed(invocation, invocationContext);
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(
+            final Invocation<Void> invocation,
+            final ReflectiveInvocationContext<Method> invocationContext,
+            final ExtensionContext extensionContext) throws Throwable {
+        proceed(invocation, invocationContext);
+    }
+
+    private static void proceed(
+            final Invocation<Void> invocation,
+            final ReflectiveInvocationContext<Method> invocationContext) throws Throwable {
+        final GradedTest gt = invocationContext.getExecutable().getAnnotation(GradedTest.class);
+        if (gt == null || gt.timeoutMillis() <= 0) {
+            invocation.proceed();
+            return;
+        }
+
+        // The thread inherits the output destination and context class
+        // loader of the current thread.
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                invocation.proceed();
+            } catch (Throwable t) { // NOPMD
+                failure.set(t);
+            }
+        }, "jacquard-graded-test");
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            thread.join(gt.timeoutMillis());
+            if (thread.isAlive()) {
+                thread.interrupt();
+                thread.join(INTERRUPT_GRACE_MILLIS);
+                throw new TimeoutException(String.format("Test timed out after %d ms", gt.timeoutMillis()));
+            }
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            throw e;
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+}
@@ -11,8 +11,8 @@ import org.junit.platform.launcher.*;
 import org.junit.platform.launcher.core.*;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.groupingBy;
@@ -21,10 +21,26 @@ import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.r
 
 /**
  * A tester that runs JUnit tests having the {@link GradedTest} annotation.
+ *
+ * <p>JUnit Jupiter's parallel execution is enabled, but tests still run
+ * sequentially unless they are declared safe to run concurrently, either
+ * individually through
+ * {@link org.junit.jupiter.api.parallel.Execution @Execution(CONCURRENT)}
+ * or by default through the {@code junit.jupiter.execution.parallel.mode}
+ * settings in {@code junit-platform.properties}. Each test's output is
+ * captured separately, even when tests run in parallel.</p>
  */
-public class JUnitTester extends Tester {
-    private final List<? extends DiscoverySelector> selectors;
-    private final DiscoveryFilter<String> filter;
+public class JUnitTester extends Tester implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final String PARALLEL_EXECUTION_KEY = "junit.jupiter.execution.parallel.enabled";
+
+    // Discovery selectors and filters are not serializable, so they are
+    // created in run() from these fields.
+    private final Class<?>[] classes;
+    private final String packageName;
+    private final boolean includeSubpackages;
+    // Computed from the discovered tests when first needed
+    private transient Double maxScore; // NOPMD
 
     /**
      * Constructs a JUnit tester that will run tests in the specified classes.
@@ -33,10 +49,9 @@ public class JUnitTester extends Tester {
      */
     public JUnitTester(final Class<?>... classes) {
         super();
-        selectors = Arrays.stream(classes)
-                .map(DiscoverySelectors::selectClass)
-                .toList();
-        filter = null;
+        this.classes = classes.clone();
+        packageName = null;
+        includeSubpackages = false;
     }
 
     /**
@@ -49,27 +64,56 @@ public class JUnitTester extends Tester {
      */
     public JUnitTester(final String packageName, final boolean includeSubpackages) {
         super();
-        selectors = List.of(selectPackage(packageName));
-        filter = includeSubpackages ? null :
-                ClassNameFilter.excludeClassNamePatterns(
-                        packageName + "\\.[^.]+\\..*");
+        classes = null;
+        this.packageName = packageName;
+        this.includeSubpackages = includeSubpackages;
+    }
+
+    private LauncherDiscoveryRequest buildRequest() {
+        final LauncherDiscoveryRequestBuilder builder = request()
+                .configurationParameter(PARALLEL_EXECUTION_KEY, "true");
+        if (classes != null) {
+            return builder
+                    .selectors(Arrays.stream(classes)
+                            .map(DiscoverySelectors::selectClass)
+                            .toList())
+                    .build();
+        }
+        builder.selectors(selectPackage(packageName));
+        if (!includeSubpackages) {
+            builder.filters(ClassNameFilter.excludeClassNamePatterns(
+                    packageName + "\\.[^.]+\\..*"));
+        }
+        return builder.build();
     }
 
     @Override
     public List<Result> run() {
-        final Launcher launcher = LauncherFactory.create();
         final JUnitTester.Listener listener = new Listener();
-        launcher.registerTestExecutionListeners(listener);
-        final PrintStream originalOut = System.out; // NOPMD
-        LauncherDiscoveryRequestBuilder builder = request().selectors(selectors);
-        if (filter != null) {
-            builder = builder.filters(filter);
-        }
-        launcher.execute(builder.build());
-        System.setOut(originalOut);
+        SharedLauncher.execute(buildRequest(), listener);
         return processResults(listener.results);
     }
 
+    /**
+     * {@inheritDoc} This is the sum of the points of the tests that have
+     * the {@link GradedTest} annotation, counting each test method once.
+     */
+    @Override
+    public double getMaxScore() {
+        if (maxScore == null) {
+            final TestPlan plan = SharedLauncher.discover(buildRequest());
+            maxScore = plan.getRoots().stream()
+                    .flatMap(root -> plan.getDescendants(root).stream())
+                    .map(identifier -> identifier.getSource().orElse(null))
+                    .filter(MethodSource.class::isInstance)
+                    .map(source -> ((MethodSource) source).getJavaMethod().getAnnotation(GradedTest.class))
+                    .filter(Objects::nonNull)
+                    .mapToDouble(GradedTest::points)
+                    .sum();
+        }
+        return maxScore;
+    }
+
     // Merge results having the same name and visibility
     @VisibleForTesting
     static Result mergeResults(List<Result> results) {
@@ -108,23 +152,23 @@ public class JUnitTester extends Tester {
     }
 
     private static class Listener implements TestExecutionListener { // NOPMD
-        // ArrayList is used so we know it's mutable.
-        private final ArrayList<Result> results = new ArrayList<>();
-        // These get set in executionStarted and used/closed in executionFinished.
-        private PrintStream ps;
-        private ByteArrayOutputStream baos;
+        // Events for tests running in parallel arrive on different threads.
+        private final List<Result> results = Collections.synchronizedList(new ArrayList<>());
+        // The output of each executing test or container, by unique ID,
+        // which is set in executionStarted and removed in executionFinished
+        private final Map<String, Capture> captures = new ConcurrentHashMap<>();
+
+        // The output of a test and its thread's previous output destination
+        private record Capture(BoundedOutputStream buffer, OutputStream previous) {
+        }
 
         @Override
         public void executionStarted(final TestIdentifier testIdentifier) {
-            baos = new ByteArrayOutputStream();
-            if (ps != null) {
-                ps.close();
-            }
-            ps = new PrintStream(baos, true, StandardCharsets.UTF_8);
-            System.setOut(ps);
+            final BoundedOutputStream buffer = new BoundedOutputStream();
+            captures.put(testIdentifier.getUniqueId(), new Capture(buffer, OutputMultiplexer.capture(buffer)));
         }
 
-        private String makeMessage(final GradedTest gt, final TestExecutionResult teResult) {
+        private String makeMessage(final GradedTest gt, final TestExecutionResult teResult, final String output) {
             final List<String> items = new ArrayList<>();
 
             // First, use description, if present.
@@ -136,7 +180,6 @@ public class JUnitTester extends Tester {
             teResult.getThrowable().ifPresent(value -> items.add(value.toString()));
 
             // Third, include output, if present and supposed to be shown.
-            final String output = baos.toString().trim();
             if (gt.includeOutput() && !output.isEmpty()) {
                 items.add("OUTPUT");
                 items.add("======");
@@ -149,28 +192,36 @@ public class JUnitTester extends Tester {
         public void executionFinished(
                 final TestIdentifier testIdentifier,
                 final TestExecutionResult testExecutionResult) {
+            final Capture capture = captures.remove(testIdentifier.getUniqueId());
+            if (capture != null) {
+                OutputMultiplexer.restore(capture.previous());
+            }
             if (testIdentifier.getSource().isPresent()) {
                 final TestSource source = testIdentifier.getSource().get();
                 if (source instanceof MethodSource methodSource) {
                     final GradedTest gt = methodSource.getJavaMethod().getAnnotation(GradedTest.class);
                     if (gt != null) {
                         final String name = gt.name().isEmpty() ? testIdentifier.getDisplayName() : gt.name();
+                        final String output = capture == null ? "" : capture.buffer().toString().trim();
+                        // The visibility must be passed explicitly, because
+                        // this may be called on a JUnit thread, where the
+                        // Autograder context is not visible.
                         try {
-                            final Result result = switch (testExecutionResult.getStatus()) {
-                                case SUCCESSFUL ->
-                                        Result.makeSuccess(name, gt.points(), makeMessage(gt, testExecutionResult));
-                                case FAILED, ABORTED ->
-                                        Result.makeFailure(name, gt.points(), makeMessage(gt, testExecutionResult));
-                            };
-                            results.add(result.changeVisibility(gt.visibility()));
-                            ps.close();
+                            results.add(switch (testExecutionResult.getStatus()) {
+                                case SUCCESSFUL -> Result.makeSuccess(
+                                        name, gt.points(), makeMessage(gt, testExecutionResult, output),
+                                        gt.visibility());
+                                case FAILED, ABORTED -> Result.makeFailure(
+                                        name, gt.points(), makeMessage(gt, testExecutionResult, output),
+                                        gt.visibility());
+                            });
                         } catch (NoSuchElementException e) { // if get() failed
                             results.add(
                                     Result.makeFailure(
-                                                    name,
-                                                    gt.points(),
-                                                    "Test failed with no additional information")
-                                            .changeVisibility(gt.visibility()));
+                                            name,
+                                            gt.points(),
+                                            "Test failed with no additional information",
+                                            gt.visibility()));
                         }
                     }
                 }
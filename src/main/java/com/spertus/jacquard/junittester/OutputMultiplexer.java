@@ -0,0 +1,79 @@
+package com.spertus.jacquard.junittester;
+
+import java.io.*;
+
+/**
+ * A stream that sends output to the destination set for the current thread,
+ * so that tests running in parallel each capture their own output. While
+ * tests run through {@link SharedLauncher}, {@link System#out} and
+ * {@link System#err} write to multiplexers. Output from threads without a
+ * destination goes to the original stream.
+ *
+ * <p>Threads inherit the destination of the thread that created them, so
+ * output from threads started by a test is captured with the test's.</p>
+ */
+public final class OutputMultiplexer extends OutputStream {
+    private static final InheritableThreadLocal<OutputStream> DESTINATION = new InheritableThreadLocal<>();
+
+    private final OutputStream original;
+
+    /**
+     * Creates a multiplexer.
+     *
+     * @param original the stream to which output goes from threads without
+     *                 a destination
+     */
+    OutputMultiplexer(final OutputStream original) {
+        super();
+        this.original = original;
+    }
+
+    /**
+     * Sends the current thread's output to the specified destination until
+     * {@link #restore(OutputStream)} is called.
+     *
+     * @param destination the destination, which must be thread-safe if the
+     *                    code running on this thread starts other threads
+     * @return the previous destination, or {@code null} if there was none
+     */
+    public static OutputStream capture(final OutputStream destination) {
+        final OutputStream previous = DESTINATION.get();
+        DESTINATION.set(destination);
+        return previous;
+    }
+
+    /**
+     * Restores the current thread's previous destination, as returned by
+     * {@link #capture(OutputStream)}.
+     *
+     * @param previous the previous destination, or {@code null} if there was
+     *                 none
+     */
+    public static void restore(final OutputStream previous) {
+        if (previous == null) {
+            DESTINATION.remove();
+        } else {
+            DESTINATION.set(previous);
+        }
+    }
+
+    private OutputStream getDestination() {
+        final OutputStream destination = DESTINATION.get();
+        return destination == null ? original : destination;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        getDestination().write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        getDestination().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        getDestination().flush();
+    }
+}
@@ -0,0 +1,106 @@
+package com.spertus.jacquard.junittester;
+
+import org.junit.platform.launcher.*;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JUnit launcher shared by all the testers in this JVM, such as
+ * {@link JUnitTester}, {@link com.spertus.jacquard.coverage.CodeCoverageTester},
+ * and {@link com.spertus.jacquard.crosstester.CrossTester}. It belongs to a
+ * single long-lived {@link LauncherSession}, so test engines are discovered
+ * and the launcher is configured only once, instead of each time a tester
+ * runs. This matters most when many testers are run per submission or
+ * many submissions are graded in one JVM.
+ *
+ * <p>Runs are independent and may overlap, such as when submissions are
+ * graded concurrently. While any run is in progress, {@link System#out} and
+ * {@link System#err} are replaced by {@link OutputMultiplexer}s, through
+ * which testers capture each test's output.</p>
+ */
+public final class SharedLauncher {
+    // Created when first needed and closed when the JVM exits
+    private static LauncherSession session;
+
+    // The number of runs in progress, and the streams that the
+    // multiplexers replaced, which are restored when it drops to 0
+    private static int activeRuns;
+    private static PrintStream originalOut;
+    private static PrintStream originalErr;
+
+    private SharedLauncher() {
+    }
+
+    private static synchronized LauncherSession getSession() {
+        if (session == null) {
+            // Test engines are loaded through the context class loader,
+            // which testers such as CodeCoverageTester replace while their
+            // tests run. The shared engines must come from this class's
+            // loader instead.
+            final Thread thread = Thread.currentThread();
+            final ClassLoader originalLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(SharedLauncher.class.getClassLoader());
+            try {
+                session = LauncherFactory.openSession();
+            } finally {
+                thread.setContextClassLoader(originalLoader);
+            }
+            final LauncherSession openedSession = session;
+            Runtime.getRuntime().addShutdownHook(new Thread(openedSession::close));
+        }
+        return session;
+    }
+
+    private static synchronized void startRun() {
+        if (activeRuns++ == 0) {
+            originalOut = System.out; // NOPMD
+            originalErr = System.err; // NOPMD
+            System.setOut(new PrintStream(new OutputMultiplexer(originalOut), true, StandardCharsets.UTF_8));
+            System.setErr(new PrintStream(new OutputMultiplexer(originalErr), true, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static synchronized void finishRun() {
+        if (--activeRuns == 0) {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+            originalOut = null;
+            originalErr = null;
+        }
+    }
+
+    /**
+     * Discovers tests with the shared launcher without executing them.
+     *
+     * @param request the request specifying the tests
+     * @return the plan of the tests that would be executed
+     */
+    public static TestPlan discover(final LauncherDiscoveryRequest request) {
+        return getSession().getLauncher().discover(request);
+    }
+
+    /**
+     * Discovers and executes tests with the shared launcher. Runs by
+     * different threads proceed at the same time. Listeners apply only to
+     * this run. Output is sent to the destinations listeners set with
+     * {@link OutputMultiplexer#capture(java.io.OutputStream)}.
+     *
+     * @param request   the request specifying the tests
+     * @param listeners listeners to notify of test events
+     */
+    public static void execute(
+            final LauncherDiscoveryRequest request,
+            final TestExecutionListener... listeners) {
+        final Launcher launcher = getSession().getLauncher();
+        startRun();
+        try {
+            // The launcher keeps no state between requests, so it is not
+            // locked while tests run.
+            launcher.execute(request, listeners);
+        } finally {
+            finishRun();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import net.sourceforge.pmd.*;
 import net.sourceforge.pmd.lang.*;
 
 import java.io.*;
+import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
@@ -21,9 +22,17 @@ public final class PmdGrader extends Grader {
     private final double maxPenalty;
     private final PMDConfiguration configuration;
 
-    // These are used only if createFromRules() is used.
-    private String ruleSetPath;
-    private List<String> ruleNames;
+    // The rule sets are loaded once and shared by every analysis, so a
+    // grader can be reused across many submissions without reloading them.
+    private final List<RuleSet> ruleSets = new ArrayList<>();
+
+    // The rule set paths and rule names, which identify the rules for
+    // getFingerprint().
+    private final List<String> ruleSources = new ArrayList<>();
+
+    // Hashes of the contents of the rule sets when they were loaded, or
+    // null if any could not be read, for getFingerprint()
+    private final List<String> ruleSetHashes;
 
     private static PMDConfiguration createConfiguration() {
         final PMDConfiguration config = new PMDConfiguration();
@@ -42,18 +51,15 @@ public final class PmdGrader extends Grader {
         this.maxPenalty = maxPenalty;
         configuration = createConfiguration();
 
-        // Build (and discard) analysis here to fail fast if any paths are invalid.
+        // Loading the rule sets here also fails fast if any paths are invalid.
         try (PmdAnalysis analysis = PmdAnalysis.create(configuration)) {
             final RuleSetLoader loader = analysis.newRuleSetLoader();
             for (final String ruleSetPath : ruleSetPaths) {
-                try {
-                    loader.loadFromResource(ruleSetPath);
-                } catch (RuleSetLoadException e) {
-                    throw new ClientException("Unable to load rule set " + ruleSetPath, e);
-                }
-                Arrays.stream(ruleSetPaths).forEach(configuration::addRuleSet);
+                ruleSets.add(loadRuleSet(loader, ruleSetPath));
             }
+            ruleSources.addAll(Arrays.asList(ruleSetPaths));
         }
+        ruleSetHashes = hashRuleSets(ruleSetPaths);
     }
 
     private PmdGrader(
@@ -64,31 +70,12 @@ public final class PmdGrader extends Grader {
         super(GRADER_NAME);
         this.penaltyPerViolation = penaltyPerViolation;
         this.maxPenalty = maxPenalty;
-        this.ruleSetPath = ruleSetPath;
-        this.ruleNames = ruleNames;
         configuration = createConfiguration();
 
-        // Build List<RuleSet> here to fail fast if the rule set path or a rule
-        // name is invalid.
-        createAnalysisWithRuleNames().close();
-    }
-
-    // throws ClientException
-    private PmdAnalysis createAnalysis() {
-        if (ruleSetPath == null) {
-            return PmdAnalysis.create(configuration);
-        } else {
-            return createAnalysisWithRuleNames();
-        }
-    }
-
-    // It is the caller's responsibility to call close().
-    // throws ClientException
-    private PmdAnalysis createAnalysisWithRuleNames() {
-        try {
-            final PmdAnalysis analysis = PmdAnalysis.create(configuration);
-            final RuleSetLoader loader = analysis.newRuleSetLoader();
-            final RuleSet ruleSet = loader.loadFromResource(ruleSetPath);
+        // Loading the rules here also fails fast if the rule set path or a
+        // rule name is invalid.
+        try (PmdAnalysis analysis = PmdAnalysis.create(configuration)) {
+            final RuleSet ruleSet = loadRuleSet(analysis.newRuleSetLoader(), ruleSetPath);
             for (final String ruleName : ruleNames) {
                 final Rule rule = ruleSet.getRuleByName(ruleName);
                 if (rule == null) {
@@ -96,15 +83,30 @@ public final class PmdGrader extends Grader {
                             "Did not find rule %s in %s",
                             ruleName, ruleSetPath));
                 }
-                analysis.addRuleSet(RuleSet.forSingleRule(rule));
+                ruleSets.add(RuleSet.forSingleRule(rule));
             }
-            return analysis;
+            ruleSources.add(ruleSetPath);
+            ruleSources.addAll(ruleNames);
+        }
+        ruleSetHashes = hashRuleSets(ruleSetPath);
+    }
+
+    // throws ClientException
+    private static RuleSet loadRuleSet(final RuleSetLoader loader, final String ruleSetPath) {
+        try {
+            return loader.loadFromResource(ruleSetPath);
         } catch (RuleSetLoadException e) {
-            // can be thrown by RuleSetLoader.loadFromResource()
             throw new ClientException("Unable to load rule set " + ruleSetPath, e);
         }
     }
 
+    // It is the caller's responsibility to call close().
+    private PmdAnalysis createAnalysis() {
+        final PmdAnalysis analysis = PmdAnalysis.create(configuration);
+        ruleSets.forEach(analysis::addRuleSet);
+        return analysis;
+    }
+
     /**
      * Creates a PMD-based grader for the specified rule sets. The ruleSetPaths
      * argument should be one or more paths to rule sets in <a
@@ -156,6 +158,55 @@ public final class PmdGrader extends Grader {
         return new PmdGrader(penaltyPerViolation, maxPenalty, ruleSetPath, allRuleNames);
     }
 
+    @Override
+    public double getMaxScore() {
+        return maxPenalty;
+    }
+
+    // Hashes a rule set, which is found the way PMD's loader finds it, in
+    // a file if one exists and otherwise on the class path. This returns
+    // null if the rule set cannot be read.
+    private static String hashRuleSet(final String ruleSetPath) {
+        try {
+            final Path path = Path.of(ruleSetPath);
+            if (Files.isRegularFile(path)) {
+                return ResultCache.hash(Files.readAllBytes(path));
+            }
+        } catch (InvalidPathException | IOException e) {
+            return null;
+        }
+        try (InputStream stream = PmdGrader.class.getClassLoader().getResourceAsStream(ruleSetPath)) {
+            return stream == null ? null : ResultCache.hash(stream.readAllBytes());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<String> hashRuleSets(final String... ruleSetPaths) {
+        final List<String> hashes = new ArrayList<>();
+        for (final String ruleSetPath : ruleSetPaths) {
+            final String hash = hashRuleSet(ruleSetPath);
+            if (hash == null) {
+                return null; // NOPMD
+            }
+            hashes.add(hash);
+        }
+        return List.copyOf(hashes);
+    }
+
+    @Override
+    public String getFingerprint() {
+        // The rule sets were loaded by the constructor, so the hashes were
+        // computed then too, even if the files have changed since. Rules
+        // built into PMD, including those referenced by the rule sets here,
+        // are identified by the PMD version.
+        if (ruleSetHashes == null) {
+            return null;
+        }
+        return makeFingerprint(PMDVersion.VERSION, JAVA_VERSION, penaltyPerViolation, maxPenalty,
+                ruleSources, ruleSetHashes);
+    }
+
     private Callable<List<Result>> makeCallable(final Target... targets) {
         return () -> {
             try (PmdAnalysis analysis = createAnalysis()) {
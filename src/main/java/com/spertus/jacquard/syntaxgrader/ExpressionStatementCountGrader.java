@@ -1,16 +1,20 @@
 package com.spertus.jacquard.syntaxgrader;
 
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.expr.*;
 import com.github.javaparser.ast.stmt.*;
 import com.spertus.jacquard.exceptions.ClientException;
 
-import java.util.List;
+import java.util.*;
 
 /**
  * A grader to test whether the number of occurrences of the given
  * expression and statement types are in the specified numeric range.
  */
 public class ExpressionStatementCountGrader extends SyntaxConditionCountGrader {
+    private final List<Class<? extends Expression>> expressionClasses;
+    private final List<Class<? extends Statement>> statementClasses;
+
     /**
      * Creates a grader to test whether the number of occurrences of the given
      * expression and statement types are in the specified numeric range.
@@ -35,21 +39,24 @@ public class ExpressionStatementCountGrader extends SyntaxConditionCountGrader {
             final List<Class<? extends Expression>> expressionClasses,
             final List<Class<? extends Statement>> statementClasses) {
         super(name, countedName, maxScore, minCount, maxCount,
-                node -> {
-                    if (node instanceof Expression) {
-                        for (final Class<?> clazz : expressionClasses) {
-                            if (clazz.isInstance(node)) {
-                                return true;
-                            }
-                        }
-                    } else if (node instanceof Statement) {
-                        for (final Class<?> clazz : statementClasses) {
-                            if (clazz.isInstance(node)) {
-                                return true;
-                            }
-                        }
-                    }
-                    return false;
-                });
+                union(expressionClasses, statementClasses),
+                ANY_NODE);
+        this.expressionClasses = List.copyOf(expressionClasses);
+        this.statementClasses = List.copyOf(statementClasses);
+    }
+
+    // The node classes are the only condition, so need only be passed to
+    // the superclass, which counts all instances of them.
+    private static Set<Class<? extends Node>> union(
+            final List<Class<? extends Expression>> expressionClasses,
+            final List<Class<? extends Statement>> statementClasses) {
+        final Set<Class<? extends Node>> nodeClasses = new HashSet<>(expressionClasses);
+        nodeClasses.addAll(statementClasses);
+        return nodeClasses;
+    }
+
+    @Override
+    public String getFingerprint() {
+        return makeCountFingerprint(expressionClasses, statementClasses);
     }
 }
@@ -1,6 +1,6 @@
 package com.spertus.jacquard.syntaxgrader;
 
-import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.*;
 import com.github.javaparser.ast.body.*;
 import com.google.common.base.Preconditions;
 import com.spertus.jacquard.common.Result;
@@ -23,7 +23,6 @@ public final class FieldModifierGrader extends ModifierGrader {
             final List<Modifier> optionalModifiers,
             final boolean penalizeMissingFields) {
         super(name, maxScorePerInstance, fieldNames, requiredModifiers, optionalModifiers, penalizeMissingFields);
-        adapter = new Adapter();
     }
 
     /**
@@ -87,15 +86,16 @@ public final class FieldModifierGrader extends ModifierGrader {
         );
     }
 
-    private class Adapter extends ModifierGrader.Adapter { // NOPMD
-        @Override
-        public void visit(final VariableDeclarator vd, final List<Result> collector) {
-            if (isField(vd)) {
-                final FieldDeclaration fd = getFieldDeclaration(vd);
-                process(collector, fd, vd.getNameAsString(), fd.getModifiers());
-            }
+    @Override
+    protected Set<Class<? extends Node>> getPassNodeClasses() {
+        return Set.of(VariableDeclarator.class);
+    }
 
-            super.visit(vd, collector);
+    @Override
+    void check(final Node node, final ItemCheck check) {
+        if (node instanceof VariableDeclarator vd && isField(vd)) {
+            final FieldDeclaration fd = getFieldDeclaration(vd);
+            check.process(fd, vd.getNameAsString(), fd.getModifiers());
         }
     }
 
@@ -29,7 +29,6 @@ public class ImportBlocklistedGrader extends ImportForbiddenGrader {
             final List<String> blocklistedPackages) {
         super(name, maxPoints);
         this.blocklistedPackages = new HashSet<>(blocklistedPackages);
-        adapter = new ImportBlocklistAdapter();
     }
 
     /**
@@ -45,11 +44,13 @@ public class ImportBlocklistedGrader extends ImportForbiddenGrader {
         this(GRADER_NAME, maxPoints, blocklistedPackages);
     }
 
-    private class ImportBlocklistAdapter extends ImportForbiddenGrader.ImportCheckerAdapter { // NOPMD
-        @Override
-        protected boolean isImportForbidden(final ImportDeclaration importDecl) {
-            return blocklistedPackages.contains(importToPackageName(importDecl));
-        }
+    @Override
+    public String getFingerprint() {
+        return makeFingerprint(maxScorePerInstance, new TreeSet<>(blocklistedPackages));
+    }
 
+    @Override
+    protected boolean isImportForbidden(final ImportDeclaration importDecl) {
+        return blocklistedPackages.contains(importToPackageName(importDecl));
     }
 }
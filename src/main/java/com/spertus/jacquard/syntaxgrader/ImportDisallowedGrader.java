@@ -29,7 +29,6 @@ public class ImportDisallowedGrader extends ImportForbiddenGrader {
             final List<String> allowedPackages) {
         super(name, maxPoints);
         this.allowedPackages = new HashSet<>(allowedPackages);
-        adapter = new ImportCheckerAdapter();
     }
 
     /**
@@ -45,11 +44,14 @@ public class ImportDisallowedGrader extends ImportForbiddenGrader {
         this(GRADER_NAME, maxPoints, allowedPackages);
     }
 
-    private class ImportCheckerAdapter extends ImportForbiddenGrader.ImportCheckerAdapter { // NOPMD
-        @Override
-        protected boolean isImportForbidden(final ImportDeclaration importDecl) {
-            final String name = importToPackageName(importDecl);
-            return !allowedPackages.contains(name);
-        }
+    @Override
+    public String getFingerprint() {
+        return makeFingerprint(maxScorePerInstance, new TreeSet<>(allowedPackages));
+    }
+
+    @Override
+    protected boolean isImportForbidden(final ImportDeclaration importDecl) {
+        final String name = importToPackageName(importDecl);
+        return !allowedPackages.contains(name);
     }
 }
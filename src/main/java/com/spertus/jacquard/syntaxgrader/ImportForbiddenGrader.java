@@ -1,8 +1,9 @@
 package com.spertus.jacquard.syntaxgrader;
 
-import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.*;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.spertus.jacquard.common.Result;
+import com.spertus.jacquard.exceptions.ClientException;
 
 import java.util.*;
 
@@ -22,25 +23,71 @@ public abstract class ImportForbiddenGrader extends SyntaxCheckGrader {
             final String name,
             final double maxScore) {
         super(name, maxScore, null);
-        // adapter is set by concrete subclass
+    }
+
+    /**
+     * Converts an import to a package name.
+     *
+     * @param importDecl an import declaration
+     * @return the package name
+     */
+    protected static String importToPackageName(final ImportDeclaration importDecl) {
+        final String name = importDecl.getNameAsString();
+        if (importDecl.isAsterisk()) {
+            return name;
+        }
+        return name.substring(0, name.lastIndexOf('.'));
+    }
+
+    /**
+     * Checks whether the given import declaration is forbidden. Subclasses
+     * should override this. For subclasses written before this method was
+     * added, the default implementation asks the {@link ImportCheckerAdapter}
+     * the subclass stored in {@link #adapter}.
+     *
+     * @param importDecl the import declaration
+     * @return true if it is forbidden, false if it is permitted
+     * @throws ClientException if this method is not overridden and no
+     *                         {@link ImportCheckerAdapter} has been set
+     */
+    protected boolean isImportForbidden(final ImportDeclaration importDecl) {
+        if (adapter instanceof ImportCheckerAdapter checker) {
+            return checker.isImportForbidden(importDecl);
+        }
+        throw new ClientException(getClass().getName()
+                + " must override isImportForbidden() or set an ImportCheckerAdapter.");
+    }
+
+    @Override
+    boolean usesOnlyImports() {
+        return true;
+    }
+
+    @Override
+    protected Set<ParseFeature> getParseFeatures() {
+        return Set.of();
     }
 
     @Override
-    public void initialize() {
-        ((ImportCheckerAdapter) adapter).initialize();
+    protected Set<Class<? extends Node>> getPassNodeClasses() {
+        return Set.of(ImportDeclaration.class);
     }
 
     @Override
-    public void finalizeResults(final List<Result> results) {
-        ((ImportCheckerAdapter) adapter).finalizeResults(results);
+    protected Pass makePass() {
+        return new ForbiddenImportCheck();
     }
 
     /**
      * Abstract superclass of adapters testing whether forbidden imports appear.
+     *
+     * @deprecated Override {@link ImportForbiddenGrader#isImportForbidden(ImportDeclaration)}
+     * instead. An adapter stored in {@link #adapter} is used only for its
+     * {@link #isImportForbidden(ImportDeclaration)} method, so gradings by
+     * the same grader still proceed independently.
      */
+    @Deprecated
     protected abstract class ImportCheckerAdapter extends VoidVisitorAdapter<List<Result>> { // NOPMD
-        private final Set<String> foundForbiddenPackages = new HashSet<>();
-
         /**
          * Constructs an adapter.
          */
@@ -48,10 +95,6 @@ public abstract class ImportForbiddenGrader extends SyntaxCheckGrader {
             super();
         }
 
-        private void initialize() { // NOPMD (false positive)
-            foundForbiddenPackages.clear();
-        }
-
         /**
          * Converts an import to a package name.
          *
@@ -59,11 +102,7 @@ public abstract class ImportForbiddenGrader extends SyntaxCheckGrader {
          * @return the package name
          */
         protected static String importToPackageName(final ImportDeclaration importDecl) {
-            final String name = importDecl.getNameAsString();
-            if (importDecl.isAsterisk()) {
-                return name;
-            }
-            return name.substring(0, name.lastIndexOf('.'));
+            return ImportForbiddenGrader.importToPackageName(importDecl);
         }
 
         /**
@@ -72,17 +111,24 @@ public abstract class ImportForbiddenGrader extends SyntaxCheckGrader {
          * @param importDecl the import declaration
          * @return true if it is forbidden, false if it is permitted
          */
-        abstract protected boolean isImportForbidden(ImportDeclaration importDecl);
+        protected abstract boolean isImportForbidden(ImportDeclaration importDecl);
+    }
+
+    // The state of a single grading, which records the forbidden imports
+    // that have been found.
+    private final class ForbiddenImportCheck extends Check {
+        private final Set<String> foundForbiddenPackages = new HashSet<>();
 
         @Override
-        public void visit(final ImportDeclaration importDecl, final List<Result> results) {
+        public void visit(final Node node) {
+            final ImportDeclaration importDecl = (ImportDeclaration) node;
             if (isImportForbidden(importDecl)) {
                 foundForbiddenPackages.add(importDecl.getNameAsString());
             }
-            super.visit(importDecl, results);
         }
 
-        private void finalizeResults(List<Result> results) {  // NOPMD (false positive)
+        @Override
+        protected void finish() {
             if (foundForbiddenPackages.isEmpty()) {
                 results.add(makeSuccessResult("No forbidden packages imported."));
             } else {
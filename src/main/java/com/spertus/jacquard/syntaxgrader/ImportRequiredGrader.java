@@ -1,8 +1,6 @@
 package com.spertus.jacquard.syntaxgrader;
 
-import com.github.javaparser.ast.ImportDeclaration;
-import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
-import com.spertus.jacquard.common.Result;
+import com.github.javaparser.ast.*;
 import com.spertus.jacquard.exceptions.ClientException;
 
 import java.util.*;
@@ -16,6 +14,7 @@ import java.util.*;
  */
 public class ImportRequiredGrader extends SyntaxCheckGrader {
     private static final String GRADER_NAME = "required import checker";
+    private final List<String> requiredImports;
 
     /**
      * Creates an import checker that awards points per required import that is
@@ -39,7 +38,7 @@ public class ImportRequiredGrader extends SyntaxCheckGrader {
                         throw new ClientException("Required import " + s + " is malformed.");
                     }
                 });
-        adapter = new ImportCheckerAdapter(requiredImports);
+        this.requiredImports = requiredImports;
     }
 
     /**
@@ -59,8 +58,13 @@ public class ImportRequiredGrader extends SyntaxCheckGrader {
     }
 
     @Override
-    public void initialize() {
-        ((ImportCheckerAdapter) adapter).initialize();
+    public double getMaxScore() {
+        return maxScorePerInstance * requiredImports.size();
+    }
+
+    @Override
+    public String getFingerprint() {
+        return makeFingerprint(maxScorePerInstance, requiredImports);
     }
 
     private static boolean importMatches(final ImportDeclaration importDecl, final String requirement) {
@@ -90,26 +94,34 @@ public class ImportRequiredGrader extends SyntaxCheckGrader {
     }
 
     @Override
-    public void finalizeResults(final List<Result> results) {
-        ((ImportCheckerAdapter) adapter).finalizeResults(results);
+    boolean usesOnlyImports() {
+        return true;
     }
 
-    private class ImportCheckerAdapter extends VoidVisitorAdapter<List<Result>> { // NOPMD
-        private final List<String> requiredImports;
-        // Use separate data structure to prevent ConcurrentModificationException.
-        private final Set<String> matchedImports = new HashSet<>();
+    @Override
+    protected Set<ParseFeature> getParseFeatures() {
+        return Set.of();
+    }
 
-        private ImportCheckerAdapter(final List<String> requiredImports) {
-            super();
-            this.requiredImports = requiredImports;
-        }
+    @Override
+    protected Set<Class<? extends Node>> getPassNodeClasses() {
+        return Set.of(ImportDeclaration.class);
+    }
 
-        private void initialize() { // NOPMD (false positive)
-            matchedImports.clear();
-        }
+    @Override
+    protected Pass makePass() {
+        return new RequiredImportCheck();
+    }
+
+    // The state of a single grading, which records which required imports
+    // have been found.
+    private final class RequiredImportCheck extends Check {
+        // Use separate data structure to prevent ConcurrentModificationException.
+        private final Set<String> matchedImports = new HashSet<>();
 
         @Override
-        public void visit(final ImportDeclaration importDecl, final List<Result> results) {
+        public void visit(final Node node) {
+            final ImportDeclaration importDecl = (ImportDeclaration) node;
             for (final String requirement : requiredImports) {
                 if (matchedImports.contains(requirement)) {
                     continue;
@@ -125,10 +137,15 @@ public class ImportRequiredGrader extends SyntaxCheckGrader {
                     }
                 }
             }
-            super.visit(importDecl, results);
         }
 
-        private void finalizeResults(List<Result> results) { // NOPMD (false positive)
+        @Override
+        public boolean isComplete() {
+            return matchedImports.containsAll(requiredImports);
+        }
+
+        @Override
+        protected void finish() {
             for (final String requirement : requiredImports) {
                 if (!matchedImports.contains(requirement)) {
                     results.add(makeFailingResult("Expected import " + requirement + " not found."));
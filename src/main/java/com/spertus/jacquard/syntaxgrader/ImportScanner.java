@@ -0,0 +1,174 @@
+package com.spertus.jacquard.syntaxgrader;
+
+import com.github.javaparser.ast.*;
+import com.github.javaparser.ast.expr.Name;
+
+import javax.lang.model.SourceVersion;
+
+/**
+ * A scanner that reads only the package and import declarations at the
+ * start of a source file, stopping at the first type declaration, for
+ * graders that examine nothing else. It recognizes only the usual forms of
+ * these declarations. Anything else, such as a Unicode escape or an
+ * annotated package declaration, makes the scan fail, so the caller can
+ * fall back to a full parse.
+ */
+final class ImportScanner {
+    private static final String END = "";
+
+    private final String source;
+    private int pos;
+
+    private ImportScanner(final String source) {
+        this.source = source;
+    }
+
+    /**
+     * Scans the package and import declarations of a source file.
+     *
+     * @param source the source code
+     * @return a compilation unit containing only the package and import
+     *         declarations, or {@code null} if they could not be scanned
+     */
+    static CompilationUnit scan(final String source) {
+        return new ImportScanner(source).scanHeader();
+    }
+
+    private CompilationUnit scanHeader() {
+        final CompilationUnit cu = new CompilationUnit();
+        final NodeList<ImportDeclaration> imports = new NodeList<>();
+        String token = nextToken();
+        if ("@".equals(token)) {
+            // This could annotate either the package or a type.
+            return null;
+        }
+        if ("package".equals(token)) {
+            final String name = scanName(false);
+            if (name == null) {
+                return null;
+            }
+            cu.setPackageDeclaration(new PackageDeclaration(makeName(name)));
+            token = nextToken();
+        }
+        while (true) {
+            if (";".equals(token)) {
+                token = nextToken();
+            } else if ("import".equals(token)) {
+                final ImportDeclaration importDecl = scanImport();
+                if (importDecl == null) {
+                    return null;
+                }
+                imports.add(importDecl);
+                token = nextToken();
+            } else {
+                break;
+            }
+        }
+        // A type declaration begins with an identifier (a modifier or
+        // keyword) or an annotation, unless the file has ended.
+        if (token == null || "package".equals(token)
+                || !(END.equals(token) || "@".equals(token) || isIdentifier(token))) {
+            return null;
+        }
+        // CompilationUnit.addImport() would drop redundant imports.
+        cu.setImports(imports);
+        return cu;
+    }
+
+    // Scans the rest of an import declaration, following "import".
+    private ImportDeclaration scanImport() {
+        final int start = pos;
+        final boolean isStatic = "static".equals(nextToken());
+        if (!isStatic) {
+            pos = start;
+        }
+        final String name = scanName(true);
+        if (name == null) {
+            return null;
+        }
+        if (name.endsWith(".*")) {
+            return new ImportDeclaration(makeName(name.substring(0, name.length() - 2)), isStatic, true);
+        }
+        return new ImportDeclaration(makeName(name), isStatic, false);
+    }
+
+    // Scans a qualified name and the semicolon that follows it, returning
+    // the name or null if it is malformed.
+    private String scanName(final boolean allowAsterisk) {
+        final StringBuilder sb = new StringBuilder();
+        String token = nextToken();
+        while (token != null && !";".equals(token)) {
+            if (END.equals(token)) {
+                return null;
+            }
+            sb.append(token);
+            token = nextToken();
+        }
+        if (token == null) {
+            return null;
+        }
+        final String name = sb.toString();
+        final String qualifiedName = allowAsterisk && name.endsWith(".*")
+                ? name.substring(0, name.length() - 2)
+                : name;
+        return SourceVersion.isName(qualifiedName) ? name : null;
+    }
+
+    private static Name makeName(final String qualifiedName) {
+        Name name = null;
+        for (final String identifier : qualifiedName.split("\\.")) {
+            name = new Name(name, identifier);
+        }
+        return name;
+    }
+
+    private static boolean isIdentifier(final String token) {
+        return Character.isJavaIdentifierStart(token.charAt(0));
+    }
+
+    // Gets the next identifier or punctuation character, END at the end of
+    // the source, or null if the source cannot be scanned.
+    private String nextToken() {
+        if (!skipWhitespaceAndComments()) {
+            return null;
+        }
+        if (pos == source.length()) {
+            return END;
+        }
+        final char c = source.charAt(pos);
+        if (c == '\\') {
+            // Unicode escapes are left to the parser.
+            return null;
+        }
+        final int start = pos++;
+        if (Character.isJavaIdentifierStart(c)) {
+            while (pos < source.length() && Character.isJavaIdentifierPart(source.charAt(pos))) {
+                pos++;
+            }
+        }
+        return source.substring(start, pos);
+    }
+
+    // Returns false if there is an unterminated comment.
+    private boolean skipWhitespaceAndComments() {
+        while (pos < source.length()) {
+            final char c = source.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (source.startsWith("//", pos)) {
+                while (pos < source.length() && source.charAt(pos) != '\n' && source.charAt(pos) != '\r') {
+                    pos++;
+                }
+            } else if (source.startsWith("/*", pos)) {
+                final int end = source.indexOf("*/", pos + 2);
+                if (end == -1) {
+                    return false;
+                }
+                pos = end + 2;
+            } else {
+                break;
+            }
+        }
+        return true;
+    }
+}
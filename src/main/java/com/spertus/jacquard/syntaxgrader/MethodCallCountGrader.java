@@ -0,0 +1,104 @@
+package com.spertus.jacquard.syntaxgrader;
+
+import com.github.javaparser.ast.*;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.spertus.jacquard.common.Result;
+import com.spertus.jacquard.exceptions.ClientException;
+
+import java.util.*;
+
+/**
+ * A grader that counts calls to the specified methods, which are identified
+ * by resolving the types of the expressions they are called on, rather than
+ * by how the calls are written. For example, a grader counting calls to
+ * {@code "java.lang.String.format"} counts both {@code String.format(...)}
+ * and {@code format(...)}, if {@code format} was statically imported, and a
+ * grader counting calls to {@code "java.util.List.add"} counts calls of
+ * {@code add()} on any variable whose type is {@code List} or one of its
+ * subtypes, such as {@code ArrayList}.
+ *
+ * <p>Calls that cannot be resolved, such as calls to methods of classes
+ * declared in other files, are not counted.</p>
+ */
+public class MethodCallCountGrader extends SyntaxCountGrader {
+    private static final String GRADER_NAME = "method call counter";
+    private static final Set<Class<? extends Node>> NODE_CLASSES = Set.of(MethodCallExpr.class);
+
+    private final Set<String> methodNames;
+    // The unqualified method names, which are checked before resolving calls
+    private final Set<String> simpleNames;
+
+    /**
+     * Creates a new method call count grader.
+     *
+     * @param name        the name of this grader (for the {@link Result})
+     * @param maxScore    the score if the condition holds
+     * @param minCount    the minimum number of calls
+     * @param maxCount    the maximum number of calls, or {@link Integer#MAX_VALUE}
+     *                    if there is no limit
+     * @param methodNames the qualified names of the methods, such as
+     *                    {@code "java.util.List.add"}
+     * @throws ClientException if minCount &lt; 0, maxCount &lt; minCount,
+     *                         minCount is 0 when maxCount is {@link Integer#MAX_VALUE},
+     *                         or a method name is not qualified
+     */
+    public MethodCallCountGrader(
+            final String name,
+            final double maxScore,
+            final int minCount,
+            final int maxCount,
+            final List<String> methodNames) {
+        super(name, "calls to " + String.join(", ", methodNames), maxScore, minCount, maxCount);
+        this.methodNames = Set.copyOf(methodNames);
+        final Set<String> simpleNames = new HashSet<>();
+        for (final String methodName : methodNames) {
+            final int index = methodName.lastIndexOf('.');
+            if (index <= 0 || index == methodName.length() - 1) {
+                throw new ClientException("Method name must be qualified by its type: " + methodName);
+            }
+            simpleNames.add(methodName.substring(index + 1));
+        }
+        this.simpleNames = Set.copyOf(simpleNames);
+    }
+
+    /**
+     * Creates a new method call count grader with the default name.
+     *
+     * @param maxScore    the score if the condition holds
+     * @param minCount    the minimum number of calls
+     * @param maxCount    the maximum number of calls, or {@link Integer#MAX_VALUE}
+     *                    if there is no limit
+     * @param methodNames the qualified names of the methods, such as
+     *                    {@code "java.util.List.add"}
+     * @throws ClientException if minCount &lt; 0, maxCount &lt; minCount,
+     *                         minCount is 0 when maxCount is {@link Integer#MAX_VALUE},
+     *                         or a method name is not qualified
+     */
+    public MethodCallCountGrader(
+            final double maxScore,
+            final int minCount,
+            final int maxCount,
+            final List<String> methodNames) {
+        this(GRADER_NAME, maxScore, minCount, maxCount, methodNames);
+    }
+
+    @Override
+    public String getFingerprint() {
+        return makeCountFingerprint(new TreeSet<>(methodNames));
+    }
+
+    @Override
+    protected List<Result> grade(final CompilationUnit cu) {
+        final SymbolSolverCache solver = SymbolSolverCache.getInstance();
+        // Only calls with the right names are resolved.
+        int count = 0;
+        for (final Node node : NodeIndex.of(cu).getNodes(NODE_CLASSES)) {
+            final MethodCallExpr call = (MethodCallExpr) node;
+            if (simpleNames.contains(call.getNameAsString())
+                    && !Collections.disjoint(methodNames, solver.getQualifiedNames(cu, call))) {
+                count++;
+            }
+        }
+        return List.of(getResult(count));
+    }
+}
@@ -1,6 +1,6 @@
 package com.spertus.jacquard.syntaxgrader;
 
-import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.*;
 import com.github.javaparser.ast.body.*;
 import com.spertus.jacquard.common.Result;
 
@@ -35,7 +35,6 @@ public final class MethodModifierGrader extends ModifierGrader {
             final List<Modifier> optionalModifiers,
             final boolean penalizeMissingMethods) {
         super(name, maxScorePerInstance, methodNames, requiredModifiers, optionalModifiers, penalizeMissingMethods);
-        adapter = new Adapter();
     }
 
     /**
@@ -62,11 +61,15 @@ public final class MethodModifierGrader extends ModifierGrader {
                 optionalModifiers, penalizeMissingMethods);
     }
 
-    private class Adapter extends ModifierGrader.Adapter { // NOPMD
-        @Override
-        public void visit(final MethodDeclaration md, final List<Result> collector) {
-            process(collector, md, md.getNameAsString(), md.getModifiers());
-            super.visit(md, collector);
+    @Override
+    protected Set<Class<? extends Node>> getPassNodeClasses() {
+        return Set.of(MethodDeclaration.class);
+    }
+
+    @Override
+    void check(final Node node, final ItemCheck check) {
+        if (node instanceof MethodDeclaration md) {
+            check.process(md, md.getNameAsString(), md.getModifiers());
         }
     }
 }
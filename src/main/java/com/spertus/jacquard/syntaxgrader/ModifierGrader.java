@@ -2,7 +2,6 @@ package com.spertus.jacquard.syntaxgrader;
 
 import com.github.javaparser.ast.*;
 import com.github.javaparser.ast.body.*;
-import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.spertus.jacquard.common.Result;
 
 import java.util.*;
@@ -16,9 +15,6 @@ abstract class ModifierGrader extends SyntaxCheckGrader {
     private final List<Modifier> requiredModifiers;
     private final List<Modifier> optionalModifiers;
 
-    // set in initialize()
-    private Set<String> missingVars;
-
     /**
      * Creates a modifier checker. If {@code penalizeMissingItems} is
      * true and an item is not found, a {@link Result} will be created with a
@@ -44,37 +40,65 @@ abstract class ModifierGrader extends SyntaxCheckGrader {
         this.requiredModifiers = requiredModifiers;
         this.optionalModifiers = optionalModifiers;
         this.penalizeMissing = penalizeMissingItems;
-        // concrete subclass sets adapter
     }
 
     @Override
-    public void initialize() {
-        missingVars = new HashSet<>(itemNames);
+    public double getMaxScore() {
+        return maxScorePerInstance * itemNames.size();
     }
 
     @Override
-    public void finalizeResults(final List<Result> results) {
-        if (!penalizeMissing) {
-            return;
-        }
-        for (final String var : missingVars) {
-            results.add(makeFailingResult("Did not find expected variable " + var));
+    public String getFingerprint() {
+        return makeFingerprint(maxScorePerInstance, itemNames, requiredModifiers, optionalModifiers, penalizeMissing);
+    }
+
+    @Override
+    protected Set<ParseFeature> getParseFeatures() {
+        return Set.of();
+    }
+
+    // Checks the modifiers of the node if it declares one of the items.
+    abstract void check(Node node, ItemCheck check);
+
+    @Override
+    protected Pass makePass() {
+        return new ItemCheck();
+    }
+
+    private String getEnclosingClassName(final Node node) {
+        if (node.getParentNode().isPresent() &&
+                node.getParentNode().get() instanceof ClassOrInterfaceDeclaration classOrInterface) {
+            return classOrInterface.getNameAsString();
+        } else {
+            return "CLASS UNKNOWN";
         }
     }
 
     /**
-     * An abstract superclass for adapters verifying that nodes have the
-     * required modifiers and do not have forbidden modifiers. Subclasses
-     * should override the visitor for the type of node they are verifying.
+     * The state of a single grading, which records which items have not
+     * yet been found.
      */
-    protected class Adapter extends VoidVisitorAdapter<List<Result>> {
-
-        private String getEnclosingClassName(final Node node) {
-            if (node.getParentNode().isPresent() &&
-                    node.getParentNode().get() instanceof ClassOrInterfaceDeclaration classOrInterface) {
-                return classOrInterface.getNameAsString();
-            } else {
-                return "CLASS UNKNOWN";
+    final class ItemCheck extends Check {
+        private final Set<String> missingItems = new HashSet<>(itemNames);
+
+        @Override
+        public void visit(final Node node) {
+            check(node, this);
+        }
+
+        @Override
+        public boolean isComplete() {
+            // All of the items have been checked.
+            return missingItems.isEmpty();
+        }
+
+        @Override
+        protected void finish() {
+            if (!penalizeMissing) {
+                return;
+            }
+            for (final String var : missingItems) {
+                results.add(makeFailingResult("Did not find expected variable " + var));
             }
         }
 
@@ -82,23 +106,21 @@ abstract class ModifierGrader extends SyntaxCheckGrader {
          * Verifies that the passed node has all required modifiers and no
          * forbidden modifiers.
          *
-         * @param collector the target of the produced {@link Result}
          * @param node the node
          * @param name the name of the node
          * @param modifiers the node's modifiers
          */
-        protected void process(
-                final List<Result> collector,
+        void process(
                 final Node node,
                 final String name,
                 final List<Modifier> modifiers) {
 
-            if (!missingVars.contains(name)) {
+            if (!missingItems.contains(name)) {
                 return;
             }
 
             // Mark that this field has been found.
-            missingVars.remove(name);
+            missingItems.remove(name);
 
             // Make a copy of this instance variable's modifiers.
             final List<Modifier> mods = new ArrayList<>(modifiers);
@@ -108,7 +130,7 @@ abstract class ModifierGrader extends SyntaxCheckGrader {
                 if (mods.contains(modifier)) {
                     mods.remove(modifier);
                 } else {
-                    collector.add(
+                    results.add(
                             makeFailingResult(
                                     String.format(
                                             "%s is missing required modifier '%s'.",
@@ -121,7 +143,7 @@ abstract class ModifierGrader extends SyntaxCheckGrader {
             // Ensure that any remaining modifiers are permitted.
             for (final Modifier modifier : mods) {
                 if (!optionalModifiers.contains(modifier)) {
-                    collector.add(
+                    results.add(
                             makeFailingResult(
                                     String.format(
                                             "%s has forbidden modifier '%s'.",
@@ -130,7 +152,7 @@ abstract class ModifierGrader extends SyntaxCheckGrader {
                     return;
                 }
             }
-            collector.add(makeSuccessResult(
+            results.add(makeSuccessResult(
                     String.format(
                             "%s.%s is declared correctly.",
                             getEnclosingClassName(node),
@@ -0,0 +1,88 @@
+package com.spertus.jacquard.syntaxgrader;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.comments.Comment;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * A traversal of parse trees that passes each node only to the handlers
+ * interested in it, as determined by the classes of nodes each handler
+ * declares. The handlers for each class of node are determined once, so
+ * nodes of classes no handler is interested in (such as the names that make
+ * up much of a tree) cost only a lookup.
+ */
+final class NodeDispatcher {
+    private static final int[] NO_HANDLERS = new int[0];
+
+    private final List<Set<Class<? extends Node>>> nodeClasses;
+    private final ClassValue<int[]> handlersByClass = new ClassValue<>() {
+        @Override
+        protected int[] computeValue(final Class<?> type) {
+            final int[] handlers = IntStream.range(0, nodeClasses.size())
+                    .filter(i -> nodeClasses.get(i).stream().anyMatch(c -> c.isAssignableFrom(type)))
+                    .toArray();
+            return handlers.length == 0 ? NO_HANDLERS : handlers;
+        }
+    };
+
+    /**
+     * Creates a dispatcher for handlers interested in the specified classes
+     * of nodes. Handlers are identified by their indices in the list.
+     *
+     * @param nodeClasses the classes of nodes each handler is interested in,
+     *                    including subclasses
+     */
+    NodeDispatcher(final List<Set<Class<? extends Node>>> nodeClasses) {
+        this.nodeClasses = List.copyOf(nodeClasses);
+    }
+
+    /**
+     * Processes a node in which at least one handler is interested.
+     */
+    @FunctionalInterface
+    interface Visitor {
+        /**
+         * Processes a node.
+         *
+         * @param node     the node
+         * @param handlers the indices of the handlers interested in the node
+         * @return true if the walk should continue, false if it should stop
+         */
+        boolean visit(Node node, int[] handlers);
+    }
+
+    /**
+     * Walks a tree in preorder, passing each node in which any handler is
+     * interested to the visitor. Children are visited in source order, and
+     * comments attached to nodes are visited after the nodes' children. The
+     * walk stops early if the visitor returns false.
+     *
+     * @param root    the root of the tree
+     * @param visitor the visitor
+     */
+    void walk(final Node root, final Visitor visitor) {
+        // The traversal is iterative so that deeply nested code cannot
+        // overflow the stack.
+        final Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            final Node node = stack.pop();
+            final int[] handlers = handlersByClass.get(node.getClass());
+            if (handlers.length > 0 && !visitor.visit(node, handlers)) {
+                return;
+            }
+            node.getComment().ifPresent(stack::push);
+            final List<Node> children = node.getChildNodes();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                final Node child = children.get(i);
+                // Orphan comments are children but, as with JavaParser's
+                // visitors, are not visited.
+                if (!(child instanceof Comment)) {
+                    stack.push(child);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.spertus.jacquard.syntaxgrader;
+
+import com.github.javaparser.ast.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the nodes of a compilation unit by class, so that graders
+ * counting particular kinds of nodes need not traverse the tree. Each
+ * compilation unit is indexed at most once, when first needed, so graders
+ * sharing a parse (see {@link ParseCache}) also share its index.
+ */
+final class NodeIndex {
+    private static final NodeDispatcher ALL_NODES = new NodeDispatcher(List.of(Set.of(Node.class)));
+
+    // The index is stored with the compilation unit, so it lives exactly
+    // as long as the compilation unit does.
+    private static final DataKey<NodeIndex> INDEX_KEY = new DataKey<>() {
+    };
+
+    // The nodes of each concrete class, in the order they were walked
+    private final Map<Class<? extends Node>, List<Node>> nodesByClass = new HashMap<>();
+
+    // Answers to queries, which may include abstract classes such as
+    // Expression and so span multiple concrete classes
+    private final Map<Set<Class<? extends Node>>, List<Node>> nodesByQuery = new ConcurrentHashMap<>();
+
+    private NodeIndex(final CompilationUnit cu) {
+        ALL_NODES.walk(cu, (node, handlers) -> {
+            nodesByClass.computeIfAbsent(node.getClass(), c -> new ArrayList<>()).add(node);
+            return true;
+        });
+    }
+
+    /**
+     * Gets the index of a compilation unit, creating it if necessary.
+     *
+     * @param cu the compilation unit
+     * @return the index
+     */
+    static NodeIndex of(final CompilationUnit cu) {
+        // Compilation units may be shared by graders running in parallel,
+        // and their data is not thread-safe.
+        synchronized (cu) {
+            if (cu.containsData(INDEX_KEY)) {
+                return cu.getData(INDEX_KEY);
+            }
+            final NodeIndex index = new NodeIndex(cu);
+            cu.setData(INDEX_KEY, index);
+            return index;
+        }
+    }
+
+    /**
+     * Gets the nodes that are instances of any of the specified classes,
+     * which may be supertypes such as {@link com.github.javaparser.ast.expr.Expression}.
+     * Each node is included only once, and the nodes of each concrete class
+     * are in the order in which {@link NodeDispatcher} walks them.
+     *
+     * @param classes the classes
+     * @return the nodes
+     */
+    List<Node> getNodes(final Set<Class<? extends Node>> classes) {
+        return nodesByQuery.computeIfAbsent(classes, query -> {
+            final List<Node> nodes = new ArrayList<>();
+            nodesByClass.forEach((nodeClass, classNodes) -> {
+                if (query.stream().anyMatch(c -> c.isAssignableFrom(nodeClass))) {
+                    nodes.addAll(classNodes);
+                }
+            });
+            return Collections.unmodifiableList(nodes);
+        });
+    }
+
+    /**
+     * Counts the nodes that are instances of any of the specified classes.
+     *
+     * @param classes the classes
+     * @return the number of nodes
+     * @see #getNodes(Set)
+     */
+    int count(final Set<Class<? extends Node>> classes) {
+        return getNodes(classes).size();
+    }
+}
@@ -0,0 +1,177 @@
+package com.spertus.jacquard.syntaxgrader;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * A cache of parsed targets, so that all the {@link SyntaxGrader}s applied
+ * to a target share a single parse. There is one cache per {@link Autograder}
+ * context, which is discarded along with the context. Entries are keyed on
+ * the target's path and content hash, so a target that changes is parsed
+ * again. Parse failures are cached too, so an unparseable target is only
+ * parsed once.
+ *
+ * <p>Targets are parsed with only the {@link ParseFeature}s requested by
+ * graders in the same context so far. Since the same graders are usually
+ * applied to every target, this is normally a single parse that satisfies
+ * all of them. A grader requesting features the cached parse lacks causes
+ * the target to be parsed again.</p>
+ *
+ * <p>The cached {@link CompilationUnit}s are shared between graders, which
+ * may run concurrently, so they must not be modified.</p>
+ */
+final class ParseCache {
+    // Enough for every file of a typical submission.
+    private static final int MAX_ENTRIES = 256;
+
+    // Caches are discarded when their contexts are no longer reachable.
+    private static final Map<Autograder, ParseCache> CACHES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // The features requested by any grader so far, which only grows
+    private final Set<ParseFeature> requestedFeatures = EnumSet.noneOf(ParseFeature.class);
+
+    private final Map<String, Entry> entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    private ParseCache() {
+        // Report an unsupported language level when grading is set up.
+        Parser.getLanguageLevel();
+    }
+
+    /**
+     * Gets the cache for the current {@link Autograder} context.
+     *
+     * @return the cache
+     * @throws ClientException if the context's language level is not supported
+     */
+    static ParseCache getInstance() {
+        return CACHES.computeIfAbsent(Autograder.getInstance(), autograder -> new ParseCache());
+    }
+
+    /**
+     * Gets the parsed representation of a target, parsing it only if it has
+     * not been parsed already with the same contents and at least the
+     * specified features.
+     *
+     * @param target   the target
+     * @param features the features the caller needs
+     * @return the parsed representation, which must not be modified
+     * @throws SubmissionException if the file cannot be found or cannot be parsed
+     */
+    CompilationUnit parse(final Target target, final Set<ParseFeature> features) throws SubmissionException {
+        return getEntry(target).get(target, features, requestFeatures(features));
+    }
+
+    // Records that the features were requested, returning all the features
+    // requested so far.
+    private Set<ParseFeature> requestFeatures(final Set<ParseFeature> features) {
+        synchronized (requestedFeatures) {
+            requestedFeatures.addAll(features);
+            return EnumSet.copyOf(requestedFeatures);
+        }
+    }
+
+    /**
+     * Gets a representation of a target's package and import declarations,
+     * for graders that examine nothing else. If the target has already been
+     * parsed, its full parsed representation is returned. Otherwise, only
+     * the declarations are scanned, unless they are not in the form
+     * {@link ImportScanner} recognizes, in which case the target is parsed.
+     * Code following the declarations is not checked, so unparseable code
+     * can produce a result.
+     *
+     * @param target   the target
+     * @param features the features the caller needs if the target is parsed
+     * @return a compilation unit with at least the package and import
+     *         declarations, which must not be modified
+     * @throws SubmissionException if the file cannot be found, or it needs
+     *                             to be parsed and cannot be
+     */
+    CompilationUnit parseHeader(final Target target, final Set<ParseFeature> features)
+            throws SubmissionException {
+        return getEntry(target).getHeader(target, features, requestFeatures(features));
+    }
+
+    private Entry getEntry(final Target target) throws SubmissionException {
+        final byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(target.toPath());
+        } catch (IOException e) {
+            throw new SubmissionException("Unable to find file " + target.toFile());
+        }
+        final String key = target.toPathString() + '\0' + Arrays.hashCode(bytes) + '\0' + bytes.length;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null || !Arrays.equals(entry.bytes, bytes)) {
+                entry = new Entry(bytes);
+                entries.put(key, entry);
+            }
+            return entry;
+        }
+    }
+
+    // A single target's contents, parsed on first use. Parsing happens
+    // outside the lock on the cache, so different targets are parsed in
+    // parallel, but each is parsed only once for any set of features.
+    private static final class Entry {
+        private final byte[] bytes;
+        private CompilationUnit cu;
+        // The features with which cu was parsed
+        private Set<ParseFeature> cuFeatures;
+        private String failure;
+        // The package and import declarations alone, if they were scanned
+        private CompilationUnit header;
+
+        private Entry(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        // Gets the compilation unit, parsing it with parseFeatures, which
+        // include the needed features, if it has not been parsed with them.
+        private synchronized CompilationUnit get(
+                final Target target,
+                final Set<ParseFeature> neededFeatures,
+                final Set<ParseFeature> parseFeatures) throws SubmissionException {
+            if (failure == null && (cu == null || !cuFeatures.containsAll(neededFeatures))) {
+                try {
+                    cu = new Parser(parseFeatures).parse(new String(bytes, StandardCharsets.UTF_8), target.toFile());
+                    cuFeatures = parseFeatures;
+                } catch (SubmissionException e) {
+                    failure = e.getMessage();
+                }
+            }
+            if (failure != null) {
+                throw new SubmissionException(failure);
+            }
+            return cu;
+        }
+
+        private synchronized CompilationUnit getHeader(
+                final Target target,
+                final Set<ParseFeature> neededFeatures,
+                final Set<ParseFeature> parseFeatures) throws SubmissionException {
+            if (cu != null && cuFeatures.containsAll(neededFeatures)) {
+                return cu;
+            }
+            if (header == null && failure == null) {
+                header = ImportScanner.scan(new String(bytes, StandardCharsets.UTF_8));
+                if (header != null) {
+                    header.setStorage(target.toPath());
+                }
+            }
+            return header == null ? get(target, neededFeatures, parseFeatures) : header;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.spertus.jacquard.syntaxgrader;
+
+/**
+ * Optional information in parse trees, which is costly to compute, so that
+ * targets are parsed with only the features their {@link SyntaxGrader}s
+ * need.
+ *
+ * @see SyntaxGrader#getParseFeatures()
+ */
+public enum ParseFeature {
+    /**
+     * Comments, which are attached to the nodes they precede, as by
+     * {@link com.github.javaparser.ast.Node#getComment()}. This includes
+     * the Javadoc comments returned by
+     * {@link com.github.javaparser.ast.nodeTypes.NodeWithJavadoc#getJavadoc()}.
+     * Comments require {@link #RANGES}, so requesting this feature provides
+     * both.
+     */
+    COMMENTS,
+
+    /**
+     * The positions of nodes in the source code and the tokens that make
+     * them up, as returned by {@link com.github.javaparser.ast.Node#getRange()}
+     * and {@link com.github.javaparser.ast.Node#getTokenRange()}.
+     */
+    RANGES
+}
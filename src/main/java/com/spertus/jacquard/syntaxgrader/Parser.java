@@ -6,11 +6,14 @@ import com.spertus.jacquard.common.Autograder;
 import com.spertus.jacquard.exceptions.*;
 
 import java.io.*;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 /**
- * A wrapper for {@link JavaParser}.
+ * A wrapper for {@link JavaParser}. The underlying parsers are pooled, so
+ * creating a {@code Parser} is cheap, and parsers, which are expensive to
+ * create, are reused by later parses with the same configuration.
  */
 public class Parser {
     /**
@@ -38,24 +41,81 @@ public class Parser {
                     ParserConfiguration.LanguageLevel.JAVA_17,
             };
 
-    private final JavaParser javaParser;
+    // The number of idle parsers kept per language level, which is enough
+    // for every thread that grades in parallel.
+    private static final int POOL_CAPACITY = 2 * Runtime.getRuntime().availableProcessors();
+
+    // Idle parsers by configuration. A JavaParser cannot be used by more
+    // than one thread at a time, so each parse checks one out and returns
+    // it when done.
+    private static final Map<Configuration, BlockingQueue<JavaParser>> POOLS = new ConcurrentHashMap<>();
+
+    // The settings that distinguish parsers.
+    private record Configuration(
+            ParserConfiguration.LanguageLevel languageLevel,
+            boolean attributeComments,
+            boolean storeTokens) {
+    }
+
+    private final Configuration configuration;
+    private final BlockingQueue<JavaParser> pool;
 
     /**
      * Constructs a parser for the Java language level specified in
-     * {@link Autograder#javaLevel}.
+     * {@link Autograder#javaLevel} that provides all {@link ParseFeature}s.
      *
      * @throws ClientException if the language level is not supported
      */
     public Parser() {
+        this(EnumSet.allOf(ParseFeature.class));
+    }
+
+    /**
+     * Constructs a parser for the Java language level specified in
+     * {@link Autograder#javaLevel} that provides at least the specified
+     * features. Omitting features makes parsing faster.
+     *
+     * @param features the features
+     * @throws ClientException if the language level is not supported
+     */
+    public Parser(final Set<ParseFeature> features) {
+        final boolean comments = features.contains(ParseFeature.COMMENTS);
+        configuration = new Configuration(
+                getLanguageLevel(),
+                comments,
+                comments || features.contains(ParseFeature.RANGES));
+        pool = POOLS.computeIfAbsent(configuration, c -> new ArrayBlockingQueue<>(POOL_CAPACITY));
+    }
+
+    // Gets the language level for the Java level specified in the current
+    // Autograder context.
+    static ParserConfiguration.LanguageLevel getLanguageLevel() {
         final int javaLevel = Autograder.getInstance().javaLevel;
         if (javaLevel < MIN_JAVA_LEVEL || javaLevel > MAX_JAVA_LEVEL) {
             throw new ClientException(
                     String.format("SyntaxGrader cannot be used with language level %d, only (%d-%d)",
                             javaLevel, MIN_JAVA_LEVEL, MAX_JAVA_LEVEL));
         }
+        return LEVELS[javaLevel - MIN_JAVA_LEVEL];
+    }
+
+    // Gets an idle parser with this parser's configuration, creating one
+    // if there are none. It must be returned with checkIn().
+    private JavaParser checkOut() {
+        final JavaParser javaParser = pool.poll();
+        if (javaParser != null) {
+            return javaParser;
+        }
         final ParserConfiguration config = new ParserConfiguration();
-        config.setLanguageLevel(LEVELS[javaLevel - MIN_JAVA_LEVEL]);
-        javaParser = new JavaParser(config);
+        config.setLanguageLevel(configuration.languageLevel());
+        config.setAttributeComments(configuration.attributeComments());
+        config.setStoreTokens(configuration.storeTokens());
+        return new JavaParser(config);
+    }
+
+    // Returns a parser to the pool, unless the pool is full.
+    private void checkIn(final JavaParser javaParser) {
+        pool.offer(javaParser);
     }
 
     private static String joinProblems(final List<Problem> problems) {
@@ -70,6 +130,7 @@ public class Parser {
      * @throws SubmissionException if the file cannot be found or cannot be parsed
      */
     public CompilationUnit parse(final File file) throws SubmissionException {
+        final JavaParser javaParser = checkOut();
         try {
             final ParseResult<CompilationUnit> parseResult = javaParser.parse(file);
             if (parseResult.isSuccessful() && parseResult.getResult().isPresent()) {
@@ -79,6 +140,26 @@ public class Parser {
                     "Unable to parse " + file + ":\n" + joinProblems(parseResult.getProblems()));
         } catch (FileNotFoundException e) {
             throw new SubmissionException("Unable to find file " + file);
+        } finally {
+            checkIn(javaParser);
+        }
+    }
+
+    // Parses the source code of a file that has already been read.
+    CompilationUnit parse(final String source, final File file) throws SubmissionException {
+        final JavaParser javaParser = checkOut();
+        final ParseResult<CompilationUnit> parseResult;
+        try {
+            parseResult = javaParser.parse(source);
+        } finally {
+            checkIn(javaParser);
+        }
+        if (parseResult.isSuccessful() && parseResult.getResult().isPresent()) {
+            final CompilationUnit cu = parseResult.getResult().get();
+            cu.setStorage(file.toPath());
+            return cu;
         }
+        throw new SubmissionException(
+                "Unable to parse " + file + ":\n" + joinProblems(parseResult.getProblems()));
     }
 }
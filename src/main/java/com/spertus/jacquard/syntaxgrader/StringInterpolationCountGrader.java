@@ -5,6 +5,8 @@ import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.spertus.jacquard.common.Result;
 import com.spertus.jacquard.exceptions.ClientException;
 
+import java.util.Set;
+
 /**
  * A grader that counts the number of occurrences of string interpolation.
  */
@@ -30,6 +32,16 @@ public class StringInterpolationCountGrader extends SyntaxCountGrader {
         super(name, "string interpolations", maxScore, minCount, maxCount, new StringInterpolationAdapter());
     }
 
+    @Override
+    public String getFingerprint() {
+        return makeCountFingerprint();
+    }
+
+    @Override
+    protected Set<ParseFeature> getParseFeatures() {
+        return Set.of();
+    }
+
     /**
      * Create a new string interpolation count grader with the default name.
      *
@@ -0,0 +1,148 @@
+package com.spertus.jacquard.syntaxgrader;
+
+import com.github.javaparser.ast.*;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.resolution.declarations.*;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.*;
+import com.spertus.jacquard.common.Autograder;
+
+import java.util.*;
+
+/**
+ * A symbol solver shared by all the {@link SyntaxGrader}s that resolve
+ * types, so that the costly type information it gathers is computed once
+ * rather than for each grader or target. There is one solver per
+ * {@link Autograder} context, which is discarded along with the context,
+ * so there is one per submission if each is graded with
+ * {@link Autograder#forNewSubmission()}.
+ *
+ * <p>The symbol solver stores intermediate results in the nodes it
+ * resolves, so it is given a private copy of each compilation unit rather
+ * than the one shared through the {@link ParseCache}, which must not be
+ * modified. The copies and the resolution results are kept for a bounded
+ * number of compilation units, like the parses in the {@link ParseCache},
+ * and the type solver only caches JDK types, so a long-lived context does
+ * not accumulate memory.</p>
+ *
+ * <p>Types are resolved from the JDK and from declarations in the same
+ * compilation unit. Calls that cannot be resolved, such as those on types
+ * declared in other files, are treated as resolving to nothing.</p>
+ */
+final class SymbolSolverCache {
+    // Enough for every file of a typical submission, as in ParseCache.
+    private static final int MAX_UNITS = 256;
+
+    // Solvers are discarded when their contexts are no longer reachable.
+    private static final Map<Autograder, SymbolSolverCache> SOLVERS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final JavaSymbolSolver symbolSolver =
+            new JavaSymbolSolver(new CombinedTypeSolver(new ReflectionTypeSolver()));
+
+    // Guarded by this, like the symbol solver
+    private final Map<Key, Unit> units = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Unit> eldest) {
+            return size() > MAX_UNITS;
+        }
+    };
+
+    // Nodes are compared structurally by equals(), but identical
+    // compilation units may be different targets.
+    private record Key(CompilationUnit cu) {
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key key && key.cu == cu;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(cu);
+        }
+    }
+
+    // The private copy of a compilation unit and the results of resolving
+    // its calls
+    private final class Unit {
+        // The copy of each call in the original compilation unit
+        private final Map<MethodCallExpr, MethodCallExpr> copies = new IdentityHashMap<>();
+        private final Map<MethodCallExpr, Set<String>> results = new IdentityHashMap<>();
+
+        Unit(final CompilationUnit cu) {
+            final CompilationUnit copy;
+            // Cloning copies the data of the compilation unit, which other
+            // graders may be setting, such as by NodeIndex.
+            synchronized (cu) {
+                copy = cu.clone();
+            }
+            copy.setData(Node.SYMBOL_RESOLVER_KEY, symbolSolver);
+            // The copy has the same structure, so its calls are found in
+            // the same order.
+            final List<MethodCallExpr> calls = cu.findAll(MethodCallExpr.class);
+            final List<MethodCallExpr> copiedCalls = copy.findAll(MethodCallExpr.class);
+            for (int i = 0; i < calls.size(); i++) {
+                copies.put(calls.get(i), copiedCalls.get(i));
+            }
+        }
+
+        Set<String> getQualifiedNames(final MethodCallExpr call) {
+            Set<String> names = results.get(call);
+            if (names == null) {
+                final MethodCallExpr copy = copies.get(call);
+                names = copy == null ? Set.of() : resolve(copy);
+                results.put(call, names);
+            }
+            return names;
+        }
+    }
+
+    private SymbolSolverCache() {
+    }
+
+    /**
+     * Gets the solver for the current {@link Autograder} context.
+     *
+     * @return the solver
+     */
+    static SymbolSolverCache getInstance() {
+        return SOLVERS.computeIfAbsent(Autograder.getInstance(), autograder -> new SymbolSolverCache());
+    }
+
+    /**
+     * Gets the qualified names by which the method called by an expression
+     * can be described: the name of the method qualified by the name of the
+     * type declaring it and by the names of all that type's supertypes. For
+     * example, a call of {@code add()} on an {@code ArrayList} is described
+     * by both {@code "java.util.ArrayList.add"} and
+     * {@code "java.util.List.add"}. Neither the compilation unit nor the
+     * call is modified.
+     *
+     * @param cu   the compilation unit containing the call
+     * @param call the method call
+     * @return the names, which are empty if the call cannot be resolved
+     */
+    synchronized Set<String> getQualifiedNames(final CompilationUnit cu, final MethodCallExpr call) {
+        // The symbol solver is not thread-safe, so resolution is
+        // serialized, which memoization keeps cheap.
+        return units.computeIfAbsent(new Key(cu), key -> new Unit(cu)).getQualifiedNames(call);
+    }
+
+    private static Set<String> resolve(final MethodCallExpr call) {
+        try {
+            final ResolvedMethodDeclaration method = call.resolve();
+            final ResolvedReferenceTypeDeclaration declaringType = method.declaringType();
+            final Set<String> names = new HashSet<>();
+            names.add(method.getQualifiedName());
+            for (final ResolvedReferenceType ancestor : declaringType.getAllAncestors()) {
+                names.add(ancestor.getQualifiedName() + "." + method.getName());
+            }
+            return Collections.unmodifiableSet(names);
+        } catch (RuntimeException e) {
+            // The symbol solver reports unresolvable code with a variety of
+            // unchecked exceptions, such as UnsolvedSymbolException.
+            return Set.of();
+        }
+    }
+}
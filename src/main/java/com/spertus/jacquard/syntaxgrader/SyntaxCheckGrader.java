@@ -20,6 +20,15 @@ import java.util.*;
  *     disallowed imports are present, awarding or withholding
  *     {@link #maxScorePerInstance} (all or nothing)</li>
  * </ul>
+ *
+ * <p>Subclasses should override {@link #makePass()} and
+ * {@link #getPassNodeClasses()}, keeping the state of each grading in a
+ * {@link Check}, so a single grader can grade multiple targets concurrently
+ * and can be combined with others in a {@link SyntaxGraderSuite}. Subclasses
+ * that instead use the older {@link #adapter} keep that state in instance
+ * variables, between {@link #initialize()} and
+ * {@link #finalizeResults(List)}, so their gradings are performed one at a
+ * time.</p>
  */
 public abstract class SyntaxCheckGrader extends SyntaxGrader {
     /**
@@ -28,8 +37,9 @@ public abstract class SyntaxCheckGrader extends SyntaxGrader {
     protected final double maxScorePerInstance;
 
     /**
-     * The adapter that visits the nodes of the parse tree. If this is not
-     * passed to this class's constructor, it must be set in the child class's
+     * The adapter that visits the nodes of the parse tree, which is used only
+     * if {@link #makePass()} returns {@code null}. If this is not passed to
+     * this class's constructor, it must then be set in the child class's
      * constructor.
      */
     protected VoidVisitorAdapter<List<Result>> adapter;
@@ -54,13 +64,24 @@ public abstract class SyntaxCheckGrader extends SyntaxGrader {
     }
 
     /**
-     * Performs any setup before a call to {@link #grade(CompilationUnit)}.
+     * {@inheritDoc} The default implementation returns the maximum score
+     * for a single application of the check, which is correct for graders
+     * that produce a single result.
+     */
+    @Override
+    public double getMaxScore() {
+        return maxScorePerInstance;
+    }
+
+    /**
+     * Performs any setup before the adapter visits a compilation unit.
      */
     public void initialize() {
     }
 
     /**
-     * Adds any results that cannot be computed until all visits are complete.
+     * Adds any results that cannot be computed until the adapter has
+     * visited all nodes.
      *
      * @param results the list of results, which may be mutated by this call
      */
@@ -69,6 +90,17 @@ public abstract class SyntaxCheckGrader extends SyntaxGrader {
 
     @Override
     public List<Result> grade(final CompilationUnit cu) {
+        final Pass pass = makePass();
+        if (pass != null) {
+            return grade(cu, pass);
+        }
+        return gradeWithAdapter(cu);
+    }
+
+    // This is synchronized because subclasses with adapters keep the state
+    // of a grading in instance variables, and targets may be graded in
+    // parallel. Subclasses with passes never get here.
+    private synchronized List<Result> gradeWithAdapter(final CompilationUnit cu) {
         initialize();
         final List<Result> results = new ArrayList<>();
         adapter.visit(cu, results);
@@ -76,6 +108,37 @@ public abstract class SyntaxCheckGrader extends SyntaxGrader {
         return results;
     }
 
+    /**
+     * The state of a single grading, which collects its results. Subclasses
+     * create one for each grading in {@link #makePass()}, so gradings by the
+     * same grader are independent.
+     */
+    protected abstract static class Check implements Pass {
+        /**
+         * The results so far.
+         */
+        protected final List<Result> results = new ArrayList<>();
+
+        /**
+         * Creates the state of a grading with no results.
+         */
+        protected Check() {
+        }
+
+        /**
+         * Adds any results that cannot be computed until all nodes have
+         * been processed. The default implementation does nothing.
+         */
+        protected void finish() {
+        }
+
+        @Override
+        public final List<Result> getResults() {
+            finish();
+            return results;
+        }
+    }
+
     /**
      * Creates a result indicating total failure.
      *
@@ -55,4 +55,59 @@ public class SyntaxConditionGrader extends SyntaxConditionCountGrader {
                 maxScore,
                 predicate);
     }
+
+    /**
+     * Creates a grader to test whether the specified number of parse nodes
+     * of the specified class satisfy the predicate. The predicate is
+     * evaluated only on instances of the class.
+     *
+     * @param name        the name of this grader
+     * @param count       the desired count,
+     * @param countedName the name of the element being checked
+     * @param maxScore    the score if the condition holds
+     * @param nodeClass   the class of nodes (including subclasses) to which
+     *                    the predicate applies
+     * @param predicate   the condition
+     * @param <N>         the type of nodes to which the predicate applies
+     *
+     * @throws ClientException if {@code count} is negative
+     */
+    public <N extends Node> SyntaxConditionGrader(
+            final String name,
+            final int count,
+            final String countedName,
+            final double maxScore,
+            final Class<N> nodeClass,
+            final Predicate<? super N> predicate) {
+        super(name, countedName, maxScore, count, count, nodeClass, predicate);
+    }
+
+    /**
+     * Creates a grader with a default name to test whether the specified
+     * number of parse nodes of the specified class satisfy the predicate.
+     * The predicate is evaluated only on instances of the class.
+     *
+     * @param count       the desired count,
+     * @param countedName the name of the element being checked
+     * @param maxScore    the score if the condition holds
+     * @param nodeClass   the class of nodes (including subclasses) to which
+     *                    the predicate applies
+     * @param predicate   the condition
+     * @param <N>         the type of nodes to which the predicate applies
+     *
+     * @throws ClientException if {@code count} is negative
+     */
+    public <N extends Node> SyntaxConditionGrader(
+            final int count,
+            final String countedName,
+            final double maxScore,
+            final Class<N> nodeClass,
+            final Predicate<? super N> predicate) {
+        this(String.format(GRADER_FORMAT_STRING, countedName),
+                count,
+                countedName,
+                maxScore,
+                nodeClass,
+                predicate);
+    }
 }
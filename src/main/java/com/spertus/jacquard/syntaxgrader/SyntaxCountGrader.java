@@ -16,7 +16,8 @@ public abstract class SyntaxCountGrader extends SyntaxGrader {
     private final double maxScore;
     private final int minCount;
     private final int maxCount;
-    private final VoidVisitorAdapter<MutableInteger> adapter;
+    // null if the subclass overrides grade(CompilationUnit)
+    private VoidVisitorAdapter<MutableInteger> adapter;
 
     /**
      * Creates a new counter to test whether the number of occurrences of an
@@ -39,6 +40,20 @@ public abstract class SyntaxCountGrader extends SyntaxGrader {
             final int minCount,
             final int maxCount,
             final VoidVisitorAdapter<MutableInteger> adapter
+    ) {
+        this(name, countedName, maxScore, minCount, maxCount);
+        Objects.requireNonNull(adapter);
+        this.adapter = adapter;
+    }
+
+    // Creates a counter whose subclass overrides grade(CompilationUnit), so
+    // needs no adapter.
+    SyntaxCountGrader(
+            final String name,
+            final String countedName,
+            final double maxScore,
+            final int minCount,
+            final int maxCount
     ) {
         super(name);
         if (minCount < 0) {
@@ -56,8 +71,25 @@ public abstract class SyntaxCountGrader extends SyntaxGrader {
         this.maxScore = maxScore;
         this.minCount = minCount;
         this.maxCount = maxCount;
-        Objects.requireNonNull(adapter);
-        this.adapter = adapter;
+    }
+
+    @Override
+    public double getMaxScore() {
+        return maxScore;
+    }
+
+    /**
+     * Creates a fingerprint from this grader's range and score and the
+     * specified criteria for which elements are counted, for use by
+     * {@link #getFingerprint()}. Subclasses whose criteria can be described
+     * (unlike arbitrary predicates) should use this to override
+     * {@link #getFingerprint()}.
+     *
+     * @param criteria a description of the elements that are counted
+     * @return the fingerprint
+     */
+    protected String makeCountFingerprint(final Object... criteria) {
+        return makeFingerprint(countedName, maxScore, minCount, maxCount, criteria);
     }
 
     @Override
@@ -91,15 +123,20 @@ public abstract class SyntaxCountGrader extends SyntaxGrader {
      * @return the result
      */
     protected Result getResult(final MutableInteger mi) {
-        if (mi.getValue() < minCount) {
+        return getResult(mi.getValue());
+    }
+
+    // Creates a result based on the number of occurrences.
+    Result getResult(final int count) {
+        if (count < minCount) {
             return makeFailureResult(maxScore,
-                    String.format("%s but had %d", getPrefix(), mi.getValue()));
-        } else if (mi.getValue() > maxCount) {
+                    String.format("%s but had %d", getPrefix(), count));
+        } else if (count > maxCount) {
             return makeFailureResult(maxScore,
-                    String.format("%s but had %d", getPrefix(), mi.getValue()));
+                    String.format("%s but had %d", getPrefix(), count));
         } else {
             return makeSuccessResult(maxScore,
-                    String.format("%s and had %d.", getPrefix(), mi.getValue()));
+                    String.format("%s and had %d.", getPrefix(), count));
         }
     }
 }
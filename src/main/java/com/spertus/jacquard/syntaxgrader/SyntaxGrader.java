@@ -1,9 +1,9 @@
 package com.spertus.jacquard.syntaxgrader;
 
-import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.*;
 import com.spertus.jacquard.common.*;
 
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.Callable;
 
 /**
@@ -11,6 +11,9 @@ import java.util.concurrent.Callable;
  * <a href="https://javaparser.org/">Java parser</a>.
  */
 public abstract class SyntaxGrader extends Grader {
+    // Created when first needed, since it depends on getPassNodeClasses().
+    private volatile NodeDispatcher dispatcher;
+
     /**
      * Constructs a syntax-based grader.
      *
@@ -22,8 +25,39 @@ public abstract class SyntaxGrader extends Grader {
 
     @Override
     public Callable<List<Result>> getCallableSingleTarget(final Target target) {
-        final Parser parser = new Parser();
-        return () -> grade(parser.parse(target.toFile()));
+        final ParseCache parseCache = ParseCache.getInstance();
+        final Set<ParseFeature> features = getParseFeatures();
+        if (usesOnlyImports() && Autograder.getInstance().headerOnlyImports) {
+            return () -> grade(parseCache.parseHeader(target, features));
+        }
+        return () -> grade(parseCache.parse(target, features));
+    }
+
+    /**
+     * Gets the optional information this grader needs in parse trees.
+     * Targets are parsed with only the features needed by their graders,
+     * which is faster than parsing them with all features. The default
+     * implementation returns all features, so subclasses that examine
+     * neither comments nor source positions should override this to
+     * return an empty set.
+     *
+     * @return the features
+     */
+    protected Set<ParseFeature> getParseFeatures() {
+        return EnumSet.allOf(ParseFeature.class);
+    }
+
+    /**
+     * Checks whether this grader examines only package and import
+     * declarations, in which case targets may be scanned rather than
+     * parsed. The default implementation returns false.
+     *
+     * @return true if this grader examines only package and import
+     *         declarations, false otherwise
+     * @see Autograder.Builder#headerOnlyImports(boolean)
+     */
+    boolean usesOnlyImports() {
+        return false;
     }
 
     /**
@@ -34,4 +68,80 @@ public abstract class SyntaxGrader extends Grader {
      */
     protected abstract List<Result> grade(CompilationUnit cu);
 
+    /**
+     * Creates a pass that computes this grader's results from the nodes of
+     * a single compilation unit, so that a {@link SyntaxGraderSuite} can
+     * share one traversal among many graders. The default implementation
+     * returns {@code null}, which indicates that the grader must traverse
+     * the compilation unit itself. Subclasses that override this must also
+     * override {@link #getPassNodeClasses()}. Each call must return a new
+     * pass, which holds the state of a single grading, so that gradings by
+     * the same grader are independent and may run concurrently.
+     *
+     * @return the pass, or {@code null} if this grader does not support passes
+     */
+    protected Pass makePass() {
+        return null;
+    }
+
+    /**
+     * Gets the classes of the nodes this grader's passes process. Only nodes
+     * that are instances of these classes (or their subclasses) are passed
+     * to them. The default implementation returns an empty set, since by
+     * default graders do not support passes.
+     *
+     * @return the classes of nodes
+     */
+    protected Set<Class<? extends Node>> getPassNodeClasses() {
+        return Set.of();
+    }
+
+    // Grades the compilation unit by walking it with a pass of this grader.
+    List<Result> grade(final CompilationUnit cu, final Pass pass) {
+        NodeDispatcher nodeDispatcher = dispatcher;
+        if (nodeDispatcher == null) {
+            nodeDispatcher = new NodeDispatcher(List.of(getPassNodeClasses()));
+            dispatcher = nodeDispatcher;
+        }
+        if (!pass.isComplete()) {
+            nodeDispatcher.walk(cu, (node, handlers) -> {
+                pass.visit(node);
+                return !pass.isComplete();
+            });
+        }
+        return pass.getResults();
+    }
+
+    /**
+     * The part of a grader that processes the nodes of a compilation unit.
+     * Nodes are passed in preorder, with children in source order.
+     *
+     * @see #makePass()
+     */
+    protected interface Pass {
+        /**
+         * Processes a node.
+         *
+         * @param node the node
+         */
+        void visit(Node node);
+
+        /**
+         * Checks whether the results are already decided, in which case no
+         * more nodes need be processed. The default implementation returns
+         * false, so every node is processed.
+         *
+         * @return true if the results are decided, false otherwise
+         */
+        default boolean isComplete() {
+            return false;
+        }
+
+        /**
+         * Gets the results once all nodes have been processed.
+         *
+         * @return the results
+         */
+        List<Result> getResults();
+    }
 }
@@ -0,0 +1,145 @@
+package com.spertus.jacquard.syntaxgrader;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.spertus.jacquard.common.Result;
+import com.spertus.jacquard.exceptions.ClientException;
+
+import java.util.*;
+
+/**
+ * A grader that applies multiple syntax graders to each target while
+ * traversing its parse tree only once, instead of once per grader. The
+ * results are those of the individual graders, in order, exactly as if each
+ * had graded the target separately. Graders that count nodes by class, such
+ * as {@link StatementCountGrader}, answer from an index of the parse tree
+ * that is built once per target. Graders that support neither, such as
+ * {@link StringInterpolationCountGrader} or subclasses with their own
+ * adapters, traverse the parse tree themselves.
+ *
+ * <p>Because the suite is a single grader, its graders share a single
+ * timeout and are cached as a unit by any
+ * {@link com.spertus.jacquard.common.ResultCache}.</p>
+ */
+public class SyntaxGraderSuite extends SyntaxGrader {
+    private static final String GRADER_NAME = "syntax grader suite";
+
+    private final List<SyntaxGrader> graders;
+    private final NodeDispatcher dispatcher;
+
+    /**
+     * Creates a suite of syntax graders.
+     *
+     * @param name    the name of this grader
+     * @param graders the graders, which must be non-empty and distinct
+     * @throws ClientException if {@code graders} is empty or contains
+     *                         duplicates
+     */
+    public SyntaxGraderSuite(final String name, final List<? extends SyntaxGrader> graders) {
+        super(name);
+        if (graders.isEmpty()) {
+            throw new ClientException("A SyntaxGraderSuite must have at least one grader");
+        }
+        final Set<SyntaxGrader> distinctGraders = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final SyntaxGrader grader : graders) {
+            if (!distinctGraders.add(grader)) {
+                throw new ClientException("A SyntaxGraderSuite may not contain the same grader twice");
+            }
+        }
+        this.graders = List.copyOf(graders);
+        dispatcher = new NodeDispatcher(
+                this.graders.stream().map(SyntaxGrader::getPassNodeClasses).toList());
+    }
+
+    /**
+     * Creates a suite of syntax graders with a default name.
+     *
+     * @param graders the graders, which must be non-empty and distinct
+     * @throws ClientException if {@code graders} is empty or contains
+     *                         duplicates
+     */
+    public SyntaxGraderSuite(final List<? extends SyntaxGrader> graders) {
+        this(GRADER_NAME, graders);
+    }
+
+    @Override
+    public double getMaxScore() {
+        return graders.stream().mapToDouble(SyntaxGrader::getMaxScore).sum();
+    }
+
+    @Override
+    public String getFingerprint() {
+        final List<String> fingerprints = new ArrayList<>();
+        for (final SyntaxGrader grader : graders) {
+            final String fingerprint = grader.getFingerprint();
+            if (fingerprint == null) {
+                return null;
+            }
+            fingerprints.add(grader.getClass().getName());
+            fingerprints.add(fingerprint);
+        }
+        return makeFingerprint(fingerprints);
+    }
+
+    @Override
+    protected Set<ParseFeature> getParseFeatures() {
+        final Set<ParseFeature> features = EnumSet.noneOf(ParseFeature.class);
+        for (final SyntaxGrader grader : graders) {
+            features.addAll(grader.getParseFeatures());
+        }
+        return features;
+    }
+
+    @Override
+    boolean usesOnlyImports() {
+        return graders.stream().allMatch(SyntaxGrader::usesOnlyImports);
+    }
+
+    @Override
+    protected List<Result> grade(final CompilationUnit cu) {
+        final List<List<Result>> resultsPerGrader = gradePasses(cu);
+
+        // Graders without passes are run separately.
+        final List<Result> results = new ArrayList<>();
+        for (int i = 0; i < graders.size(); i++) {
+            final List<Result> graderResults = resultsPerGrader.get(i);
+            results.addAll(graderResults == null ? graders.get(i).grade(cu) : graderResults);
+        }
+        return results;
+    }
+
+    // Computes the results of the graders that support passes, leaving
+    // null in place of the results of the graders that don't.
+    private List<List<Result>> gradePasses(final CompilationUnit cu) {
+        final List<Pass> passes = graders.stream().map(SyntaxGrader::makePass).toList();
+        // Passes whose results are decided are no longer visited, and the
+        // walk stops once all of their results are decided.
+        final boolean[] complete = new boolean[passes.size()];
+        int activePasses = 0;
+        for (int i = 0; i < passes.size(); i++) {
+            complete[i] = passes.get(i) == null || passes.get(i).isComplete();
+            if (!complete[i]) {
+                activePasses++;
+            }
+        }
+        if (activePasses > 0) {
+            final int passesToComplete = activePasses;
+            final MutableInteger completedPasses = new MutableInteger();
+            dispatcher.walk(cu, (node, handlers) -> {
+                for (final int handler : handlers) {
+                    final Pass pass = passes.get(handler);
+                    if (!complete[handler]) {
+                        pass.visit(node);
+                        if (pass.isComplete()) {
+                            complete[handler] = true;
+                            completedPasses.increment();
+                        }
+                    }
+                }
+                return completedPasses.getValue() < passesToComplete;
+            });
+        }
+        return passes.stream()
+                .map(pass -> pass == null ? null : pass.getResults())
+                .toList();
+    }
+}
@@ -0,0 +1,157 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.syntaxgrader.StatementCountGrader;
+import org.junit.jupiter.api.*;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutograderTest {
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    @Test
+    public void testThreadsMustBePositive() {
+        Autograder.resetForTest();
+        assertThrows(ClientException.class,
+                () -> Autograder.Builder.getInstance().threads(0));
+    }
+
+    @Test
+    public void testSingleSharedThread() throws URISyntaxException {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance()
+                .threads(1)
+                .executorPolicy(ExecutorPolicy.CACHED)
+                .build();
+        Target target = TestUtilities.getTargetFromResource("good/ForStatements.java");
+        for (int i = 0; i < 20; i++) {
+            List<Result> results = new StatementCountGrader(1.0, 1, 1, ForStmt.class).grade(target);
+            TestUtilities.assertResultsMatch(results, 1, 1.0, 1.0);
+        }
+    }
+
+    // A grader that ignores interrupts and runs well past the timeout,
+    // although not forever.
+    private static class RunawayGrader extends Grader {
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        RunawayGrader() {
+            super("runaway grader");
+        }
+
+        @Override
+        public double getMaxScore() {
+            return 1.0;
+        }
+
+        @Override
+        public Callable<List<Result>> getCallableSingleTarget(Target target) {
+            return () -> {
+                started.countDown();
+                long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (System.nanoTime() < end) {
+                    Thread.interrupted();
+                }
+                return makeSuccessResultList(1.0, "finished");
+            };
+        }
+    }
+
+    @Test
+    public void testRunawayGraderDoesNotStarveOthers() throws URISyntaxException {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance()
+                .threads(1)
+                .executorPolicy(ExecutorPolicy.FIXED)
+                .timeout(200)
+                .build();
+        Target target = TestUtilities.getTargetFromResource("good/ForStatements.java");
+        List<Result> runawayResults = new RunawayGrader().grade(target);
+        assertEquals(1, runawayResults.size());
+        assertTrue(runawayResults.get(0).getMessage().contains("timed out"));
+        // The runaway grader still holds the only original thread.
+        List<Result> results = new StatementCountGrader(1.0, 1, 1, ForStmt.class).grade(target);
+        TestUtilities.assertResultsMatch(results, 1, 1.0, 1.0);
+    }
+
+    @Test
+    public void testTimeoutStartsWhenGraderStarts() throws Exception {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance()
+                .threads(1)
+                .executorPolicy(ExecutorPolicy.FIXED)
+                .timeout(1000)
+                .build();
+        Target target = TestUtilities.getTargetFromResource("good/ForStatements.java");
+        RunawayGrader runawayGrader = new RunawayGrader();
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Result>> runawayResults = caller.submit(() -> runawayGrader.grade(target));
+            assertTrue(runawayGrader.started.await(5, TimeUnit.SECONDS));
+            // This waits for a thread for about as long as its timeout,
+            // which must not count against it.
+            List<Result> results = new StatementCountGrader(1.0, 1, 1, ForStmt.class).grade(target);
+            TestUtilities.assertResultsMatch(results, 1, 1.0, 1.0);
+            assertTrue(runawayResults.get().get(0).getMessage().contains("timed out"));
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGradingAfterShutdown() throws URISyntaxException {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().build();
+        Grader grader = new StatementCountGrader(1.0, 1, 1, ForStmt.class);
+        Target target = TestUtilities.getTargetFromResource("good/ForStatements.java");
+        Autograder.getInstance().shutdown();
+        assertTrue(Autograder.getInstance().isShutdown());
+        assertThrows(ClientException.class, () -> grader.grade(target));
+    }
+
+    @Test
+    public void testVirtualThreads() throws URISyntaxException {
+        Autograder.resetForTest();
+        if (!ExecutorPolicy.VIRTUAL.isAvailable()) {
+            assertThrows(ClientException.class,
+                    () -> Autograder.Builder.getInstance().executorPolicy(ExecutorPolicy.VIRTUAL));
+            return;
+        }
+        Autograder.Builder.getInstance().executorPolicy(ExecutorPolicy.VIRTUAL).build();
+        Target target = TestUtilities.getTargetFromResource("good/ForStatements.java");
+        Grader[] graders = new Grader[50];
+        for (int i = 0; i < graders.length; i++) {
+            graders[i] = new StatementCountGrader(1.0, 1, 1, ForStmt.class);
+        }
+        List<Result> results = Grader.gradeAllConcurrently(target, graders);
+        TestUtilities.assertResultsMatch(results, graders.length, graders.length, graders.length);
+    }
+
+    @Test
+    public void testGradeAllConcurrentlyWithOneThread() throws URISyntaxException {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance()
+                .threads(1)
+                .executorPolicy(ExecutorPolicy.FIXED)
+                .timeout(5000)
+                .build();
+        Target target = TestUtilities.getTargetFromResource("good/ForStatements.java");
+        Grader[] graders = new Grader[4];
+        for (int i = 0; i < graders.length; i++) {
+            graders[i] = new StatementCountGrader(1.0, 1, 1, ForStmt.class);
+        }
+        // The graders share the single thread rather than waiting for it
+        // while holding it.
+        List<Result> results = Grader.gradeAllConcurrently(target, graders);
+        TestUtilities.assertResultsMatch(results, graders.length, graders.length, graders.length);
+    }
+}
@@ -0,0 +1,124 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.spertus.jacquard.batch.BatchAutograder;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.syntaxgrader.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchAutograderTest {
+    private static final String TARGET_PATH = "src/Main.java";
+
+    @TempDir
+    Path submissionsDir;
+
+    @BeforeEach
+    public void setup() {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().build();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    private void addSubmission(String name, String resource) throws IOException, URISyntaxException {
+        Path target = submissionsDir.resolve(name).resolve(TARGET_PATH);
+        Files.createDirectories(target.getParent());
+        if (resource != null) {
+            Files.copy(TestUtilities.getTargetFromResource(resource).toPath(), target);
+        }
+    }
+
+    private BatchAutograder makeBatch(int parallelism) {
+        return new BatchAutograder.Builder()
+                .graders(
+                        new StatementCountGrader(1.0, 1, 1, ForStmt.class),
+                        new ImportRequiredGrader(1.0, List.of("java.util.Random")))
+                .targets(TARGET_PATH)
+                .parallelism(parallelism)
+                .build();
+    }
+
+    @Test
+    public void testGradeAll() throws IOException, URISyntaxException {
+        addSubmission("good", "good/ForStatements.java");
+        addSubmission("unparseable", "invalid/Unparseable.java");
+        addSubmission("missing", null);
+        for (int i = 0; i < 10; i++) {
+            addSubmission("copy" + i, "good/ForStatements.java");
+        }
+
+        Map<String, List<Result>> resultsBySubmission = new HashMap<>();
+        int count = makeBatch(4).gradeAll(submissionsDir,
+                (submission, results) -> resultsBySubmission.put(
+                        submission.getFileName().toString(), results));
+
+        assertEquals(13, count);
+        assertEquals(13, resultsBySubmission.size());
+        List<Result> good = resultsBySubmission.get("good");
+        assertEquals(1.0, good.get(0).getScore());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(good, resultsBySubmission.get("copy" + i));
+        }
+        assertTrue(resultsBySubmission.get("unparseable").get(0) instanceof ExceptionResult);
+        assertTrue(resultsBySubmission.get("missing").get(0) instanceof ExceptionResult);
+    }
+
+    @Test
+    public void testFailingSubmissionDoesNotStopOthers() throws IOException, URISyntaxException {
+        addSubmission("good", "good/ForStatements.java");
+        // The target path names a directory, so this cannot be graded.
+        Files.createDirectories(submissionsDir.resolve("directory").resolve(TARGET_PATH));
+        for (int i = 0; i < 10; i++) {
+            addSubmission("copy" + i, "good/ForStatements.java");
+        }
+
+        Map<String, List<Result>> resultsBySubmission = new HashMap<>();
+        int count = makeBatch(4).gradeAll(submissionsDir,
+                (submission, results) -> resultsBySubmission.put(
+                        submission.getFileName().toString(), results));
+
+        assertEquals(12, count);
+        assertEquals(12, resultsBySubmission.size());
+        List<Result> directory = resultsBySubmission.get("directory");
+        assertEquals(1, directory.size());
+        assertTrue(directory.get(0) instanceof ExceptionResult);
+        List<Result> good = resultsBySubmission.get("good");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(good, resultsBySubmission.get("copy" + i));
+        }
+    }
+
+    @Test
+    public void testGradeMatchesDirectGrading() throws IOException, URISyntaxException {
+        addSubmission("good", "good/ForStatements.java");
+        Target target = Target.fromPath(submissionsDir.resolve("good").resolve(TARGET_PATH));
+        List<Result> expected = new ArrayList<>();
+        expected.addAll(new StatementCountGrader(1.0, 1, 1, ForStmt.class).grade(target));
+        expected.addAll(new ImportRequiredGrader(1.0, List.of("java.util.Random")).grade(target));
+        assertEquals(expected, makeBatch(1).grade(submissionsDir.resolve("good")));
+    }
+
+    @Test
+    public void testInvalidBuilders() {
+        assertThrows(ClientException.class,
+                () -> new BatchAutograder.Builder().targets(TARGET_PATH).build());
+        assertThrows(ClientException.class,
+                () -> new BatchAutograder.Builder()
+                        .graders(new StatementCountGrader(1.0, 1, 1, ForStmt.class))
+                        .build());
+        assertThrows(ClientException.class,
+                () -> new BatchAutograder.Builder().parallelism(0));
+    }
+}
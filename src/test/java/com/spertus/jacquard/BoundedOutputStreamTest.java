@@ -0,0 +1,54 @@
+package com.spertus.jacquard;
+
+import com.spertus.jacquard.junittester.BoundedOutputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedOutputStreamTest {
+    @Test
+    public void testShortOutputKept() {
+        BoundedOutputStream stream = new BoundedOutputStream(10);
+        stream.write("abc".getBytes(StandardCharsets.UTF_8), 0, 3);
+        stream.write('d');
+        assertEquals("abcd", stream.toString());
+        assertEquals(0, stream.getDroppedCount());
+    }
+
+    @Test
+    public void testFullOutputKept() {
+        BoundedOutputStream stream = new BoundedOutputStream(10);
+        stream.write("0123456789".getBytes(StandardCharsets.UTF_8), 0, 10);
+        assertEquals("0123456789", stream.toString());
+        assertEquals(0, stream.getDroppedCount());
+    }
+
+    @Test
+    public void testHeadAndTailKept() {
+        BoundedOutputStream stream = new BoundedOutputStream(10);
+        byte[] bytes = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+        stream.write(bytes, 0, 12);
+        for (int i = 12; i < bytes.length; i++) {
+            stream.write(bytes[i]);
+        }
+        assertEquals(10, stream.getDroppedCount());
+        assertEquals("01234\n... [10 bytes omitted] ...\nfghij", stream.toString());
+    }
+
+    @Test
+    public void testMemoryIsBounded() {
+        BoundedOutputStream stream = new BoundedOutputStream();
+        PrintStream ps = new PrintStream(stream, true, StandardCharsets.UTF_8);
+        String line = "x".repeat(99);
+        // Only DEFAULT_CAPACITY bytes of the 100 MB printed are kept.
+        long lines = 1_000_000L;
+        for (long i = 0; i < lines; i++) {
+            ps.println(line);
+        }
+        assertEquals(lines * 100 - BoundedOutputStream.DEFAULT_CAPACITY, stream.getDroppedCount());
+        assertTrue(stream.toString().length() < BoundedOutputStream.DEFAULT_CAPACITY + 100);
+    }
+}
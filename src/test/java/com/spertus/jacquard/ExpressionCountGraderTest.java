@@ -99,4 +99,10 @@ public class ExpressionCountGraderTest {
     public void testUnaryExprCounter() throws ClientException {
         testAllPossibilities(2, UnaryExpr.class);
     }
+
+    @Test
+    public void testLiteralExprCounter() throws ClientException {
+        // LiteralExpr is abstract, so this counts instances of its subclasses.
+        testAllPossibilities(2, LiteralExpr.class);
+    }
 }
@@ -0,0 +1,119 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.WhileStmt;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.syntaxgrader.StatementCountGrader;
+import org.junit.jupiter.api.*;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraderGraphTest {
+    private Target goodTarget;
+    private Target unparseableTarget;
+
+    @BeforeEach
+    public void setup() throws URISyntaxException {
+        Autograder.initForTest();
+        goodTarget = TestUtilities.getTargetFromResource("good/ForStatements.java");
+        unparseableTarget = TestUtilities.getTargetFromResource("invalid/Unparseable.java");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    private Grader makeGrader(double maxScore) {
+        return new StatementCountGrader(maxScore, 1, 1, ForStmt.class);
+    }
+
+    private Tester makeTester(AtomicBoolean ran) {
+        return new Tester() {
+            @Override
+            public double getMaxScore() {
+                return 1.0;
+            }
+
+            @Override
+            public List<Result> run() {
+                ran.set(true);
+                return List.of(Result.makeSuccess("tester", 1.0, "ran"));
+            }
+        };
+    }
+
+    @Test
+    public void testFailedPrerequisitePrunesDependents() {
+        AtomicBoolean testerRan = new AtomicBoolean();
+        GraderGraph graph = new GraderGraph.Builder()
+                .add("parse", makeGrader(1.0), unparseableTarget)
+                .add("count", makeGrader(2.0), goodTarget)
+                .add("independent", makeGrader(3.0), goodTarget)
+                .add("tests", makeTester(testerRan))
+                .dependsOn("count", "parse")
+                .dependsOn("tests", "count")
+                .build();
+        List<Result> results = graph.run();
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0) instanceof ExceptionResult);
+
+        assertEquals(0, results.get(1).getScore());
+        assertEquals(2.0, results.get(1).getMaxScore());
+        assertTrue(results.get(1).getMessage().contains("parse did not pass"));
+
+        assertEquals(3.0, results.get(2).getScore());
+
+        assertEquals("tests", results.get(3).getName());
+        assertTrue(results.get(3).getMessage().contains("count was not run"));
+        assertFalse(testerRan.get());
+    }
+
+    @Test
+    public void testSatisfiedPrerequisite() {
+        AtomicBoolean testerRan = new AtomicBoolean();
+        GraderGraph graph = new GraderGraph.Builder()
+                .add("count", makeGrader(2.0), goodTarget)
+                .add("tests", makeTester(testerRan))
+                .dependsOn("tests", "count")
+                .build();
+        List<Result> results = graph.run();
+        assertEquals(2, results.size());
+        assertEquals(2.0, results.get(0).getScore());
+        assertEquals(1.0, results.get(1).getScore());
+        assertTrue(testerRan.get());
+    }
+
+    @Test
+    public void testCustomGate() {
+        // The grader fails (there is no while statement), but it completes,
+        // which is all the gate requires.
+        GraderGraph graph = new GraderGraph.Builder()
+                .add("count", new StatementCountGrader(1.0, 1, 1, WhileStmt.class), goodTarget)
+                .add("dependent", makeGrader(2.0), goodTarget)
+                .dependsOn("dependent", "count", GraderGraph.COMPLETED)
+                .build();
+        List<Result> results = graph.run();
+        assertEquals(0, results.get(0).getScore());
+        assertEquals(2.0, results.get(1).getScore());
+    }
+
+    @Test
+    public void testInvalidGraphs() {
+        GraderGraph.Builder builder = new GraderGraph.Builder()
+                .add("first", makeGrader(1.0), goodTarget)
+                .add("second", makeGrader(1.0), goodTarget);
+        assertThrows(ClientException.class,
+                () -> builder.add("first", makeGrader(1.0), goodTarget));
+        assertThrows(ClientException.class,
+                () -> builder.dependsOn("second", "unknown"));
+        assertThrows(ClientException.class,
+                () -> builder.dependsOn("first", "second"));
+    }
+}
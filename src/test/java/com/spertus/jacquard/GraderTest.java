@@ -1,6 +1,7 @@
 package com.spertus.jacquard;
 
 import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.stmt.ForStmt;
 import com.spertus.jacquard.common.*;
 import com.spertus.jacquard.syntaxgrader.*;
 import org.junit.jupiter.api.*;
@@ -9,6 +10,7 @@ import java.net.URISyntaxException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GraderTest {
     @BeforeAll
@@ -16,19 +18,27 @@ public class GraderTest {
         Autograder.initForTest();
     }
 
-    @Test
-    public void testTwoGraders() throws URISyntaxException {
-        FieldModifierGrader grader1 = FieldModifierGrader.makeChecker("Private/final check", 1.0,
+    private static FieldModifierGrader makeFieldModifierGrader() {
+        return FieldModifierGrader.makeChecker("Private/final check", 1.0,
                 List.of("behavior", "maxHearts", "maxDamage", "minDamage", "type", "nosuchfield"),
                 List.of(Modifier.finalModifier(), Modifier.privateModifier()),
                 List.of(),
                 true);
-        MethodModifierGrader grader2 = new MethodModifierGrader(
+    }
+
+    private static MethodModifierGrader makeMethodModifierGrader() {
+        return new MethodModifierGrader(
                 1.0,
                 List.of("getMinDamage", "getNumHearts", "methodDoesNotExist"),
                 List.of(Modifier.publicModifier()),
                 List.of(Modifier.finalModifier()),
                 true);
+    }
+
+    @Test
+    public void testTwoGraders() throws URISyntaxException {
+        FieldModifierGrader grader1 = makeFieldModifierGrader();
+        MethodModifierGrader grader2 = makeMethodModifierGrader();
         Target target = TestUtilities.getTargetFromResource("good/Mob.java");
 
         List<Result> results1 = grader1.grade(target);
@@ -37,4 +47,22 @@ public class GraderTest {
         List<Result> resultsAll = Grader.gradeAll(target, grader1, grader2);
         assertEquals(results1, resultsAll);
     }
+
+    @Test
+    public void testGradeAllConcurrentlyPreservesOrder() throws URISyntaxException {
+        FieldModifierGrader grader1 = makeFieldModifierGrader();
+        MethodModifierGrader grader2 = makeMethodModifierGrader();
+        StatementCountGrader grader3 = new StatementCountGrader(1.0, 1, 3, ForStmt.class);
+        Target target = TestUtilities.getTargetFromResource("good/Mob.java");
+
+        List<Result> sequentialResults = Grader.gradeAll(target, grader1, grader2, grader3);
+        List<Result> concurrentResults = Grader.gradeAllConcurrently(target, grader1, grader2, grader3);
+        assertEquals(sequentialResults, concurrentResults);
+    }
+
+    @Test
+    public void testGradeAllConcurrentlyWithNoGraders() throws URISyntaxException {
+        Target target = TestUtilities.getTargetFromResource("good/Mob.java");
+        assertTrue(Grader.gradeAllConcurrently(target).isEmpty());
+    }
 }
@@ -0,0 +1,94 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.syntaxgrader.StatementCountGrader;
+import org.junit.jupiter.api.*;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradingContextTest {
+    private Target target;
+
+    @BeforeEach
+    public void setup() throws URISyntaxException {
+        Autograder.resetForTest();
+        target = TestUtilities.getTargetFromResource("good/ForStatements.java");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    private Autograder makeContext(Visibility visibility) {
+        return new Autograder.Builder()
+                .visibility(visibility)
+                .timeout(5_000)
+                .buildContext();
+    }
+
+    @Test
+    public void testContextWithoutDefaultAutograder() {
+        Autograder context = makeContext(Visibility.HIDDEN);
+        try {
+            assertFalse(Autograder.isInitialized());
+            Grader grader = new StatementCountGrader(1.0, 1, 1, ForStmt.class);
+            List<Result> results = grader.grade(context, target);
+            TestUtilities.assertResultsMatch(results, 1, 1.0, 1.0);
+            assertEquals(Visibility.HIDDEN, results.get(0).getVisibility());
+            assertFalse(Autograder.isInitialized());
+        } finally {
+            context.shutdown();
+        }
+    }
+
+    @Test
+    public void testWithinRestoresDefault() {
+        Autograder.Builder.getInstance().build();
+        Autograder defaultAutograder = Autograder.getInstance();
+        Autograder context = makeContext(Visibility.HIDDEN);
+        try {
+            assertSame(context, context.within(Autograder::getInstance));
+            assertSame(defaultAutograder, Autograder.getInstance());
+        } finally {
+            context.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentContexts() throws Exception {
+        Autograder visibleContext = makeContext(Visibility.VISIBLE);
+        Autograder hiddenContext = makeContext(Visibility.HIDDEN);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Grader grader = new StatementCountGrader(1.0, 1, 1, ForStmt.class);
+            Future<List<Result>> visible = pool.submit(() -> grader.grade(visibleContext, target));
+            Future<List<Result>> hidden = pool.submit(() -> grader.grade(hiddenContext, target));
+            assertEquals(Visibility.VISIBLE, visible.get().get(0).getVisibility());
+            assertEquals(Visibility.HIDDEN, hidden.get().get(0).getVisibility());
+        } finally {
+            pool.shutdownNow();
+            visibleContext.shutdown();
+            hiddenContext.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentGradersInheritContext() {
+        Autograder context = makeContext(Visibility.AFTER_DUE_DATE);
+        try {
+            List<Result> results = context.within(() -> Grader.gradeAllConcurrently(target,
+                    new StatementCountGrader(1.0, 1, 1, ForStmt.class),
+                    new StatementCountGrader(2.0, 1, 1, ForStmt.class)));
+            assertEquals(2, results.size());
+            results.forEach(result -> assertEquals(Visibility.AFTER_DUE_DATE, result.getVisibility()));
+        } finally {
+            context.shutdown();
+        }
+    }
+}
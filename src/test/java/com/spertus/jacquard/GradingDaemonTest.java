@@ -0,0 +1,107 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.spertus.jacquard.batch.BatchAutograder;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.daemon.*;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.publisher.GradescopePublisher;
+import com.spertus.jacquard.syntaxgrader.StatementCountGrader;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradingDaemonTest {
+    private static final String TARGET_PATH = "src/Main.java";
+
+    @TempDir
+    Path tempDir;
+
+    private Path submission;
+    private BatchAutograder batch;
+
+    @BeforeEach
+    public void setup() throws IOException, URISyntaxException {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().build();
+        submission = tempDir.resolve("submission");
+        Path target = submission.resolve(TARGET_PATH);
+        Files.createDirectories(target.getParent());
+        Files.copy(TestUtilities.getTargetFromResource("good/ForStatements.java").toPath(), target);
+        batch = new BatchAutograder.Builder()
+                .graders(new StatementCountGrader(1.0, 1, 1, ForStmt.class))
+                .targets(TARGET_PATH)
+                .build();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    private void checkDaemon(GradingDaemon daemon) {
+        String expected = new GradescopePublisher().serializeResults(batch.grade(submission));
+        try (daemon) {
+            daemon.register("hw1", batch).warmUp(submission).start();
+            try (GradingClient client = new GradingClient(daemon.getAddress())) {
+                // A connection can be reused for multiple requests.
+                assertEquals(expected, client.grade("hw1", submission));
+                assertEquals(expected, client.grade("hw1", submission));
+                assertThrows(ClientException.class, () -> client.grade("hw2", submission));
+            }
+        }
+    }
+
+    @Test
+    public void testLocalPort() {
+        checkDaemon(GradingDaemon.onLocalPort(0));
+    }
+
+    @Test
+    public void testUnixSocket() {
+        Path socketPath = tempDir.resolve("jacquard.sock");
+        checkDaemon(GradingDaemon.onUnixSocket(socketPath));
+        assertFalse(Files.exists(socketPath));
+    }
+
+    @Test
+    public void testDuplicateConfiguration() {
+        try (GradingDaemon daemon = GradingDaemon.onLocalPort(0)) {
+            daemon.register("hw1", batch);
+            assertThrows(ClientException.class, () -> daemon.register("hw1", batch));
+        }
+    }
+
+    @Test
+    public void testConnectionLimit() throws Exception {
+        String expected = new GradescopePublisher().serializeResults(batch.grade(submission));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (GradingDaemon daemon = GradingDaemon.onLocalPort(0).maxConnections(1)) {
+            daemon.register("hw1", batch).start();
+            GradingClient client1 = new GradingClient(daemon.getAddress());
+            assertEquals(expected, client1.grade("hw1", submission));
+            try (GradingClient client2 = new GradingClient(daemon.getAddress())) {
+                // The second connection is not served until the first is closed.
+                Future<String> response = executor.submit(() -> client2.grade("hw1", submission));
+                assertThrows(TimeoutException.class, () -> response.get(200, TimeUnit.MILLISECONDS));
+                client1.close();
+                assertEquals(expected, response.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidMaxConnections() {
+        try (GradingDaemon daemon = GradingDaemon.onLocalPort(0)) {
+            assertThrows(ClientException.class, () -> daemon.maxConnections(0));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.spertus.jacquard;
+
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.syntaxgrader.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeaderOnlyImportsTest {
+    @TempDir
+    Path tempDir;
+
+    private Autograder headerOnlyContext;
+
+    @BeforeEach
+    public void setup() {
+        Autograder.initForTest();
+        headerOnlyContext = new Autograder.Builder().headerOnlyImports(true).buildContext();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        headerOnlyContext.shutdown();
+        Autograder.resetForTest();
+    }
+
+    private static List<Grader> makeGraders() {
+        return List.of(
+                new ImportRequiredGrader(1.0, List.of("java.util.Random", "java.util.List", "java.util.*")),
+                new ImportBlocklistedGrader(1.0, List.of("javax.ejb")),
+                new ImportDisallowedGrader(1.0, List.of("java.util", "java.lang")));
+    }
+
+    private void assertSameResults(Target target) {
+        for (Grader grader : makeGraders()) {
+            assertEquals(grader.grade(target), grader.grade(headerOnlyContext, target));
+        }
+    }
+
+    @Test
+    public void testSameResultsAsParsing() throws URISyntaxException {
+        assertSameResults(TestUtilities.getTargetFromResource("good/Import.java"));
+        assertSameResults(TestUtilities.getTargetFromResource("good/ImportWildcards.java"));
+        assertSameResults(TestUtilities.getTargetFromResource("good/Mob.java"));
+    }
+
+    @Test
+    public void testUnusualDeclarations() throws IOException {
+        Path path = tempDir.resolve("Main.java");
+        Files.writeString(path, """
+                package /* comment */ com.example;
+                import static java.lang.Math.*;
+                import java.util . Random; // comment
+                ;
+                @SuppressWarnings("unused")
+                public class Main {
+                }
+                """);
+        assertSameResults(Target.fromPath(path));
+    }
+
+    @Test
+    public void testBodyIsNotParsed() throws URISyntaxException {
+        Target unparseable = TestUtilities.getTargetFromResource("invalid/Unparseable.java");
+        ImportDisallowedGrader grader = new ImportDisallowedGrader(1.0, List.of("java.util"));
+        assertTrue(grader.grade(unparseable).get(0) instanceof ExceptionResult);
+        TestUtilities.assertResultsMatch(grader.grade(headerOnlyContext, unparseable), 1, 1.0, 1.0);
+    }
+
+    @Test
+    public void testMalformedImportIsParsed() throws IOException {
+        Path path = tempDir.resolve("Main.java");
+        Files.writeString(path, "import java.util.Random\npublic class Main {}");
+        ImportRequiredGrader grader = new ImportRequiredGrader(1.0, List.of("java.util.Random"));
+        assertTrue(grader.grade(headerOnlyContext, Target.fromPath(path)).get(0) instanceof ExceptionResult);
+    }
+}
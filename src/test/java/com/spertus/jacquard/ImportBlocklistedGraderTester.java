@@ -1,5 +1,6 @@
 package com.spertus.jacquard;
 
+import com.github.javaparser.ast.ImportDeclaration;
 import com.spertus.jacquard.common.*;
 import com.spertus.jacquard.syntaxgrader.*;
 import org.junit.jupiter.api.*;
@@ -46,4 +47,31 @@ public class ImportBlocklistedGraderTester {
         List<Result> results = grader.grade(importTarget);
         TestUtilities.assertResultsMatch(results, 1, 0.0, 1.0);
     }
+
+    // A grader written against the adapter-based API.
+    @SuppressWarnings("deprecation")
+    private static class LegacyBlocklistGrader extends ImportForbiddenGrader {
+        private final List<String> blocklistedPackages;
+
+        LegacyBlocklistGrader(List<String> blocklistedPackages) {
+            super("legacy grader", 1.0);
+            this.blocklistedPackages = blocklistedPackages;
+            adapter = new LegacyAdapter();
+        }
+
+        private class LegacyAdapter extends ImportCheckerAdapter {
+            @Override
+            protected boolean isImportForbidden(ImportDeclaration importDecl) {
+                return blocklistedPackages.contains(importToPackageName(importDecl));
+            }
+        }
+    }
+
+    @Test
+    public void testLegacyAdapter() {
+        TestUtilities.assertResultsMatch(
+                new LegacyBlocklistGrader(List.of("javax")).grade(importTarget), 1, 1.0, 1.0);
+        TestUtilities.assertResultsMatch(
+                new LegacyBlocklistGrader(List.of("java.util", "javax")).grade(importTarget), 1, 0.0, 1.0);
+    }
 }
@@ -0,0 +1,219 @@
+package com.spertus.jacquard;
+
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.isolation.*;
+import com.spertus.jacquard.junittester.JUnitTester;
+import com.spertus.jacquard.junittester.SampleTest;
+import org.junit.jupiter.api.*;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IsolatedTesterTest {
+    private static final int EXIT_CODE = 42;
+    // The exit code of a JVM run with -XX:+ExitOnOutOfMemoryError
+    private static final int OUT_OF_MEMORY_EXIT_CODE = 3;
+    private static final long TIMEOUT_MILLIS = 500;
+
+    private static WorkerPool pool;
+
+    @BeforeAll
+    public static void setup() {
+        Autograder.initForTest();
+        pool = new WorkerPool(1);
+    }
+
+    @AfterAll
+    public static void cleanup() {
+        pool.close();
+    }
+
+    // The following testers are sent to worker JVMs, so they must be
+    // Serializable.
+
+    private static class SleepingTester extends Tester implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getMaxScore() {
+            return 0;
+        }
+
+        @Override
+        public List<Result> run() {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        }
+    }
+
+    private static class ExitingTester extends Tester implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getMaxScore() {
+            return 0;
+        }
+
+        @Override
+        public List<Result> run() {
+            System.exit(EXIT_CODE);
+            return List.of();
+        }
+    }
+
+    private static class AllocatingTester extends Tester implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getMaxScore() {
+            return 0;
+        }
+
+        @Override
+        public List<Result> run() {
+            List<long[]> arrays = new ArrayList<>();
+            while (true) {
+                arrays.add(new long[1_000_000]);
+            }
+        }
+    }
+
+    // Reports the worker's process ID.
+    private static class PidTester extends Tester implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getMaxScore() {
+            return 1;
+        }
+
+        @Override
+        public List<Result> run() {
+            return List.of(Result.makeSuccess("pid", 1, String.valueOf(ProcessHandle.current().pid())));
+        }
+    }
+
+    // Reports the worker's Java level, with the worker's default visibility.
+    private static class SettingsTester extends Tester implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getMaxScore() {
+            return 1;
+        }
+
+        @Override
+        public List<Result> run() {
+            return List.of(Result.makeSuccess(
+                    "settings", 1, String.valueOf(Autograder.getInstance().javaLevel)));
+        }
+    }
+
+    private static String getMessage(List<Result> results) {
+        assertEquals(1, results.size());
+        return results.get(0).getMessage();
+    }
+
+    private static long getPid() {
+        return Long.parseLong(getMessage(new IsolatedTester(pool, new PidTester()).run()));
+    }
+
+    @Test
+    public void testSameResultsAsInProcess() {
+        JUnitTester tester = new JUnitTester(SampleTest.class);
+        List<Result> expected = tester.run();
+        List<Result> actual = new IsolatedTester(pool, tester).run();
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+
+    @Test
+    public void testWorkerIsReused() {
+        JUnitTester tester = new JUnitTester(SampleTest.class);
+        List<Result> results1 = new IsolatedTester(pool, tester).run();
+        List<Result> results2 = new IsolatedTester(pool, tester).run();
+        assertEquals(new HashSet<>(results1), new HashSet<>(results2));
+    }
+
+    @Test
+    public void testNonSerializableTesterRejected() {
+        Tester tester = new Tester() {
+            @Override
+            public double getMaxScore() {
+                return 0;
+            }
+
+            @Override
+            public List<Result> run() {
+                return List.of();
+            }
+        };
+        assertThrows(ClientException.class, () -> new IsolatedTester(pool, tester));
+    }
+
+    @Test
+    public void testWatchdogKillsWorker() {
+        Autograder context = new Autograder.Builder().timeout(TIMEOUT_MILLIS).buildContext();
+        try {
+            long start = System.currentTimeMillis();
+            List<Result> results = context.within(() -> new IsolatedTester(pool, new SleepingTester()).run());
+            long elapsed = System.currentTimeMillis() - start;
+            assertTrue(getMessage(results).contains("timed out"));
+            assertEquals(0, results.get(0).getScore());
+            assertTrue(elapsed < 10 * TIMEOUT_MILLIS, "Tester took " + elapsed + " ms");
+        } finally {
+            context.shutdown();
+        }
+    }
+
+    @Test
+    public void testSystemExit() {
+        List<Result> results = new IsolatedTester(pool, new ExitingTester()).run();
+        assertTrue(getMessage(results).contains("(code " + EXIT_CODE + ")"));
+    }
+
+    @Test
+    public void testOutOfMemory() {
+        try (WorkerPool smallPool = new WorkerPool(1, 32)) {
+            List<Result> results = new IsolatedTester(smallPool, new AllocatingTester()).run();
+            assertTrue(getMessage(results).contains("(code " + OUT_OF_MEMORY_EXIT_CODE + ")"));
+            // The pool is still usable.
+            List<Result> pidResults = new IsolatedTester(smallPool, new PidTester()).run();
+            assertEquals(1, pidResults.get(0).getScore());
+        }
+    }
+
+    @Test
+    public void testDeadWorkerReplaced() {
+        long pid = getPid();
+        assertEquals(pid, getPid());
+        new IsolatedTester(pool, new ExitingTester()).run();
+        assertNotEquals(pid, getPid());
+    }
+
+    @Test
+    public void testSettingsSentWithEachRequest() {
+        Autograder context11 = new Autograder.Builder()
+                .javaLevel(11).visibility(Visibility.HIDDEN).buildContext();
+        Autograder context17 = new Autograder.Builder()
+                .javaLevel(17).visibility(Visibility.VISIBLE).buildContext();
+        try {
+            // Both run in the same worker.
+            List<Result> results11 = context11.within(() -> new IsolatedTester(pool, new SettingsTester()).run());
+            List<Result> results17 = context17.within(() -> new IsolatedTester(pool, new SettingsTester()).run());
+            assertEquals("11", getMessage(results11));
+            assertEquals(Visibility.HIDDEN, results11.get(0).getVisibility());
+            assertEquals("17", getMessage(results17));
+            assertEquals(Visibility.VISIBLE, results17.get(0).getVisibility());
+        } finally {
+            context11.shutdown();
+            context17.shutdown();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.spertus.jacquard;
 
+import com.spertus.jacquard.blockingtests.BlockingTest;
 import com.spertus.jacquard.common.*;
 import com.spertus.jacquard.junittester.SampleTest;
 import com.spertus.jacquard.junittester.JUnitTester;
@@ -7,15 +8,21 @@ import com.spertus.jacquard.junittester.group.GroupTest1;
 import com.spertus.jacquard.junittester.group.GroupTest2;
 import com.spertus.jacquard.junittester.output.OutputTest;
 import com.spertus.jacquard.junittester.visibility.VisibilityLevelsTest;
+import com.spertus.jacquard.paralleltests.ParallelOutputTest;
+import com.spertus.jacquard.timeouttests.TimedTest;
 import org.junit.jupiter.api.*;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class JUnitTesterTest {
     private static final String PASSING_TEST_NAME = "passingTest";
@@ -40,7 +47,10 @@ public class JUnitTesterTest {
     }
 
     private void checkResults(Tester tester) {
-        List<Result> results = tester.run();
+        checkResults(tester.run());
+    }
+
+    private void checkResults(List<Result> results) {
         assertEquals(2, results.size());
         Result result1 = results.get(0);
         Result result2 = results.get(1);
@@ -57,12 +67,27 @@ public class JUnitTesterTest {
         checkResults(tester);
     }
 
+    @Test
+    public void testRepeatedRuns() {
+        // Testers share a launcher, so listeners from earlier runs must not
+        // receive events from later ones.
+        checkResults(new JUnitTester(SampleTest.class));
+        checkResults(new JUnitTester(SampleTest.class));
+    }
+
     @Test
     public void testPackageExcludingSubpackages() {
         JUnitTester tester = new JUnitTester("com.spertus.jacquard.junittester", false);
         checkResults(tester);
     }
 
+    @Test
+    public void testMaxScore() {
+        double maxScore = PASSING_TEST_MAX_POINTS + FAILING_TEST_MAX_POINTS;
+        assertEquals(maxScore, new JUnitTester(SampleTest.class).getMaxScore());
+        assertEquals(maxScore, new JUnitTester("com.spertus.jacquard.junittester", false).getMaxScore());
+    }
+
     @Test
     public void testPackageIncludingSubpackages() {
         JUnitTester tester = new JUnitTester("com.spertus.jacquard.junittester", true);
@@ -127,4 +152,75 @@ public class JUnitTesterTest {
         assertEquals("description1", result1.getMessage());
         assertEquals("description2\nOUTPUT\n======\noutput2", result2.getMessage());
     }
+
+    @Test
+    public void testParallelOutput() {
+        // JUnit runs tests on as many threads as there are processors.
+        assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+        JUnitTester tester = new JUnitTester(ParallelOutputTest.class);
+        List<Result> results = tester.run();
+        assertEquals(2, results.size());
+        for (Result result : results) {
+            // The tests fail unless they run at the same time.
+            assertEquals(result.getMaxScore(), result.getScore(), result.getMessage());
+            // Each test's output is captured separately, including System.err.
+            String line = result.getName().equals("parallel1") ? "out" : "err";
+            String output = String.join("\n", Collections.nCopies(ParallelOutputTest.LINES, line));
+            assertEquals("OUTPUT\n======\n" + output, result.getMessage());
+        }
+    }
+
+    @Test
+    public void testConcurrentRuns() throws Exception {
+        BlockingTest.reset();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Result>> blocked = executor.submit(() -> new JUnitTester(BlockingTest.class).run());
+            assertTrue(BlockingTest.awaitStarted());
+            // Another run completes while the first is still in progress.
+            checkResults(new JUnitTester(SampleTest.class));
+            assertFalse(blocked.isDone());
+            BlockingTest.release();
+            List<Result> results = blocked.get(10, TimeUnit.SECONDS);
+            assertEquals(1, results.size());
+            assertEquals(results.get(0).getMaxScore(), results.get(0).getScore());
+        } finally {
+            BlockingTest.release();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testContextWithoutDefaultAutograder() {
+        // Results are made on JUnit's threads, which do not see the context.
+        Autograder.resetForTest();
+        Autograder context = new Autograder.Builder().buildContext();
+        try {
+            JUnitTester tester = new JUnitTester(SampleTest.class);
+            checkResults(context.within(tester::run));
+        } finally {
+            context.shutdown();
+            Autograder.initForTest();
+        }
+    }
+
+    @Test
+    public void testPerTestTimeouts() {
+        JUnitTester tester = new JUnitTester(TimedTest.class);
+        long start = System.currentTimeMillis();
+        List<Result> results = tester.run();
+        long elapsed = System.currentTimeMillis() - start;
+        assertEquals(3, results.size());
+        for (Result result : results) {
+            if (result.getName().equals("finishes")) {
+                assertEquals(result.getMaxScore(), result.getScore());
+                assertTrue(result.getMessage().contains("finished"));
+            } else {
+                assertEquals(0, result.getScore());
+                assertTrue(result.getMessage().contains("timed out"));
+            }
+        }
+        // The test ignoring interrupts was abandoned rather than awaited.
+        assertTrue(elapsed < 5000, "Tests took " + elapsed + " ms");
+    }
 }
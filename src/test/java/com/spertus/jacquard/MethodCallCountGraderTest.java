@@ -0,0 +1,128 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.*;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.syntaxgrader.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MethodCallCountGraderTest {
+    @TempDir
+    static Path tempDir;
+
+    private static Target target;
+
+    @BeforeAll
+    public static void init() throws IOException {
+        Path path = tempDir.resolve("Main.java");
+        Files.writeString(path, """
+                import java.util.*;
+                import static java.lang.String.format;
+
+                public class Main {
+                    public static void main(String[] args) {
+                        List<String> list = new ArrayList<>();
+                        list.add("a");
+                        ArrayList<String> arrayList = new ArrayList<>();
+                        arrayList.add("b");
+                        Set<String> set = new HashSet<>();
+                        set.add("c");
+                        add("d");
+                        System.out.println(format("%s", list));
+                        System.out.println(String.format("%s", set));
+                        Unknown unknown = new Unknown();
+                        unknown.add("e");
+                    }
+
+                    private static void add(String s) {
+                    }
+                }
+                """);
+        target = Target.fromPath(path);
+    }
+
+    @BeforeEach
+    public void setup() {
+        Autograder.initForTest();
+    }
+
+    @Test
+    public void testCallsOnSubtypesAreCounted() {
+        MethodCallCountGrader grader = new MethodCallCountGrader(1.0, 2, 2, List.of("java.util.List.add"));
+        TestUtilities.assertResultsMatch(grader.grade(target), 1, 1.0, 1.0);
+    }
+
+    @Test
+    public void testStaticallyImportedCallsAreCounted() {
+        MethodCallCountGrader grader = new MethodCallCountGrader(1.0, 2, 2, List.of("java.lang.String.format"));
+        TestUtilities.assertResultsMatch(grader.grade(target), 1, 1.0, 1.0);
+    }
+
+    @Test
+    public void testMultipleMethods() {
+        MethodCallCountGrader grader = new MethodCallCountGrader(
+                1.0, 6, 6, List.of("java.util.Collection.add", "java.lang.String.format", "Main.add"));
+        TestUtilities.assertResultsMatch(grader.grade(target), 1, 1.0, 1.0);
+    }
+
+    @Test
+    public void testReportsExactCount() {
+        MethodCallCountGrader grader = new MethodCallCountGrader(1.0, 0, 0, List.of("java.util.List.add"));
+        List<Result> results = grader.grade(target);
+        TestUtilities.assertResultsMatch(results, 1, 0.0, 1.0);
+        assertTrue(results.get(0).getMessage().endsWith("but had 2"));
+    }
+
+    // A grader that records the compilation unit it is passed.
+    private static class RecordingGrader extends SyntaxGrader {
+        private CompilationUnit cu;
+
+        RecordingGrader() {
+            super("recording grader");
+        }
+
+        @Override
+        public double getMaxScore() {
+            return 1.0;
+        }
+
+        @Override
+        protected List<Result> grade(CompilationUnit cu) {
+            this.cu = cu;
+            return makeSuccessResultList(1.0, "parsed");
+        }
+    }
+
+    @Test
+    public void testSharedParseNotModified() {
+        RecordingGrader recorder = new RecordingGrader();
+        MethodCallCountGrader grader = new MethodCallCountGrader(1.0, 2, 2, List.of("java.util.List.add"));
+        Grader.gradeAll(target, recorder, grader);
+        TestUtilities.assertResultsMatch(grader.grade(target), 1, 1.0, 1.0);
+        assertFalse(recorder.cu.containsData(Node.SYMBOL_RESOLVER_KEY));
+        for (Node node : recorder.cu.findAll(Node.class)) {
+            if (node != recorder.cu) {
+                assertTrue(node.getDataKeys().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatability() {
+        TestUtilities.testRepeatability(
+                new MethodCallCountGrader(1.0, 1, Integer.MAX_VALUE, List.of("java.util.List.add")), target);
+    }
+
+    @Test
+    public void testUnqualifiedNameRejected() {
+        assertThrows(ClientException.class,
+                () -> new MethodCallCountGrader(1.0, 1, 1, List.of("add")));
+    }
+}
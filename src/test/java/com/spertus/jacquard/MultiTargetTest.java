@@ -0,0 +1,108 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.syntaxgrader.*;
+import org.junit.jupiter.api.*;
+
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiTargetTest {
+    private Target goodTarget;
+    private Target unparseableTarget;
+
+    @BeforeEach
+    public void setup() throws URISyntaxException {
+        goodTarget = TestUtilities.getTargetFromResource("good/ForStatements.java");
+        unparseableTarget = TestUtilities.getTargetFromResource("invalid/Unparseable.java");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    private void checkPartialResults(Grader grader) {
+        List<Result> results = grader.grade(unparseableTarget, goodTarget, unparseableTarget);
+        assertEquals(3, results.size());
+        assertTrue(results.get(0) instanceof ExceptionResult);
+        assertEquals(1.0, results.get(1).getScore());
+        assertTrue(results.get(2) instanceof ExceptionResult);
+    }
+
+    @Test
+    public void testPartialResultsUntimed() {
+        Autograder.initForTest();
+        checkPartialResults(new StatementCountGrader(1.0, 1, 1, ForStmt.class));
+    }
+
+    @Test
+    public void testPartialResultsTimed() {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().build();
+        checkPartialResults(new StatementCountGrader(1.0, 1, 1, ForStmt.class));
+    }
+
+    @Test
+    public void testSyntaxCheckGraderOnParallelTargets() throws URISyntaxException {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().build();
+        Target target = TestUtilities.getTargetFromResource("good/Import.java");
+        ImportRequiredGrader grader = new ImportRequiredGrader(
+                1.0, List.of("java.util.Random", "java.util.List"));
+        List<Result> expected = grader.grade(target);
+        List<Result> results = grader.grade(target, target, target, target);
+        assertEquals(4 * expected.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(expected.get(i % expected.size()), results.get(i));
+        }
+    }
+
+    @Test
+    public void testSyntaxCheckGraderSharedAcrossThreads() throws Exception {
+        Autograder.initForTest();
+        SyntaxGrader grader = new SyntaxGraderSuite(List.of(
+                FieldModifierGrader.makeChecker(1.0,
+                        List.of("behavior", "maxHearts", "type"),
+                        List.of(Modifier.finalModifier(), Modifier.privateModifier()),
+                        List.of(),
+                        true),
+                new MethodModifierGrader(1.0,
+                        List.of("getType", "main"),
+                        List.of(Modifier.publicModifier()),
+                        List.of(Modifier.staticModifier()),
+                        true),
+                new ImportRequiredGrader(1.0, List.of("java.util.Random", "java.util.List")),
+                new ImportDisallowedGrader(1.0, List.of("java.util"))));
+        List<Target> targets = new ArrayList<>();
+        for (String resource : List.of("good/Mob.java", "good/Import.java", "good/ImportWildcards.java",
+                "good/FavoritesIterator.java", "good/ForStatements.java")) {
+            targets.add(TestUtilities.getTargetFromResource(resource));
+        }
+        Map<Target, List<Result>> expected = new HashMap<>();
+        for (Target target : targets) {
+            expected.put(target, grader.grade(target));
+        }
+
+        // The same grader grades all of the targets at once, many times.
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                Target target = targets.get(i % targets.size());
+                futures.add(executor.submit(
+                        () -> expected.get(target).equals(grader.grade(target))));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
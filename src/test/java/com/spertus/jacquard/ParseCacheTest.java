@@ -0,0 +1,133 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.syntaxgrader.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParseCacheTest {
+    @TempDir
+    Path tempDir;
+
+    private Target target;
+
+    @BeforeEach
+    public void setup() throws IOException, URISyntaxException {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().build();
+        Path path = tempDir.resolve("Main.java");
+        Files.copy(TestUtilities.getTargetFromResource("good/ForStatements.java").toPath(), path);
+        target = Target.fromPath(path);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    // A grader that records the compilation units it is passed.
+    private static class RecordingGrader extends SyntaxGrader {
+        private final List<CompilationUnit> cus = Collections.synchronizedList(new ArrayList<>());
+        private final Set<ParseFeature> features;
+
+        RecordingGrader() {
+            this(EnumSet.allOf(ParseFeature.class));
+        }
+
+        RecordingGrader(Set<ParseFeature> features) {
+            super("recording grader");
+            this.features = features;
+        }
+
+        @Override
+        public double getMaxScore() {
+            return 1.0;
+        }
+
+        @Override
+        protected Set<ParseFeature> getParseFeatures() {
+            return features;
+        }
+
+        @Override
+        protected List<Result> grade(CompilationUnit cu) {
+            cus.add(cu);
+            return makeSuccessResultList(1.0, "parsed");
+        }
+    }
+
+    @Test
+    public void testGradersShareParse() {
+        RecordingGrader grader1 = new RecordingGrader();
+        RecordingGrader grader2 = new RecordingGrader();
+        Grader.gradeAll(target, grader1, grader2);
+        assertSame(grader1.cus.get(0), grader2.cus.get(0));
+        assertEquals(Optional.of(target.toPath()),
+                grader1.cus.get(0).getStorage().map(CompilationUnit.Storage::getPath));
+    }
+
+    @Test
+    public void testChangedTargetIsReparsed() throws IOException {
+        RecordingGrader grader = new RecordingGrader();
+        grader.grade(target);
+        Files.writeString(target.toPath(), "// changed\n", StandardOpenOption.APPEND);
+        grader.grade(target);
+        assertNotSame(grader.cus.get(0), grader.cus.get(1));
+        assertTrue(grader.cus.get(1).getAllComments().stream()
+                .anyMatch(comment -> comment.getContent().contains("changed")));
+    }
+
+    @Test
+    public void testContextsDoNotShareParse() {
+        RecordingGrader grader = new RecordingGrader();
+        Autograder context = new Autograder.Builder().buildContext();
+        try {
+            grader.grade(target);
+            grader.grade(context, target);
+            assertNotSame(grader.cus.get(0), grader.cus.get(1));
+        } finally {
+            context.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnparseableTargetFails() throws URISyntaxException {
+        RecordingGrader grader = new RecordingGrader();
+        Target unparseable = TestUtilities.getTargetFromResource("invalid/Unparseable.java");
+        for (int i = 0; i < 2; i++) {
+            List<Result> results = grader.grade(unparseable);
+            assertEquals(1, results.size());
+            assertEquals(0.0, results.get(0).getScore());
+        }
+        assertTrue(grader.cus.isEmpty());
+    }
+
+    @Test
+    public void testParseFeatures() throws IOException {
+        Files.writeString(target.toPath(), "// comment\n", StandardOpenOption.APPEND);
+        RecordingGrader lightGrader = new RecordingGrader(Set.of());
+        RecordingGrader fullGrader = new RecordingGrader();
+        lightGrader.grade(target);
+        CompilationUnit lightCu = lightGrader.cus.get(0);
+        assertTrue(lightCu.getRange().isEmpty());
+        assertTrue(lightCu.getAllComments().isEmpty());
+
+        // The target is parsed again for the grader needing more features.
+        fullGrader.grade(target);
+        CompilationUnit fullCu = fullGrader.cus.get(0);
+        assertTrue(fullCu.getRange().isPresent());
+        assertFalse(fullCu.getAllComments().isEmpty());
+
+        // That parse satisfies both graders.
+        lightGrader.grade(target);
+        assertSame(fullCu, lightGrader.cus.get(1));
+    }
+}
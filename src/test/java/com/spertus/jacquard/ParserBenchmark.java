@@ -0,0 +1,75 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.*;
+import com.spertus.jacquard.common.Autograder;
+import com.spertus.jacquard.syntaxgrader.*;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with "gradlew benchmark".
+@Tag("Benchmark")
+public class ParserBenchmark {
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int ITERATIONS = 2000;
+
+    private static File file;
+
+    @FunctionalInterface
+    private interface Parse {
+        void run() throws Exception;
+    }
+
+    @BeforeAll
+    public static void init() throws URISyntaxException {
+        Autograder.initForTest();
+        file = TestUtilities.getTargetFromResource("good/Mob.java").toFile();
+    }
+
+    private static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    // Measures the bytes allocated and the time taken per parse.
+    private static long[] measure(String name, Parse parse) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            parse.run();
+        }
+        long startBytes = getAllocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parse.run();
+        }
+        long bytesPerParse = (getAllocatedBytes() - startBytes) / ITERATIONS;
+        long nanosPerParse = (System.nanoTime() - startNanos) / ITERATIONS;
+        System.out.printf("%-30s %,10d bytes/parse %,10d ns/parse%n", name, bytesPerParse, nanosPerParse);
+        return new long[]{bytesPerParse, nanosPerParse};
+    }
+
+    @Test
+    public void benchmarkPooledParsers() throws Exception {
+        // This is what each parse cost before parsers were pooled.
+        long[] fresh = measure("new JavaParser per parse", () -> {
+            ParserConfiguration config = new ParserConfiguration();
+            config.setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17);
+            new JavaParser(config).parse(file);
+        });
+        long[] pooled = measure("pooled JavaParser", () -> new Parser().parse(file));
+        System.out.printf("Saved %,d bytes/parse%n", fresh[0] - pooled[0]);
+        assertTrue(pooled[0] < fresh[0]);
+    }
+
+    @Test
+    public void benchmarkParseFeatures() throws Exception {
+        long[] full = measure("all features", () -> new Parser().parse(file));
+        long[] light = measure("no features", () -> new Parser(Set.of()).parse(file));
+        System.out.printf("Saved %,d bytes/parse%n", full[0] - light[0]);
+        assertTrue(light[0] < full[0]);
+    }
+}
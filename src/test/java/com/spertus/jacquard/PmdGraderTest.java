@@ -4,8 +4,11 @@ import com.spertus.jacquard.common.*;
 import com.spertus.jacquard.exceptions.ClientException;
 import com.spertus.jacquard.pmdgrader.PmdGrader;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.*;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -147,4 +150,33 @@ public class PmdGraderTest {
         // 3 violations expected (1 missing override, 2 comment required)
         TestUtilities.assertResultsMatch(results, 1, 2.0, 5.0);
     }
+
+    @Test
+    public void testFingerprintReflectsRulesetContents(@TempDir Path tempDir)
+            throws IOException, URISyntaxException {
+        Path ruleSet = tempDir.resolve("ruleset.xml");
+        Files.copy(TestUtilities.getPath("pmd-ruleset.xml"), ruleSet);
+        PmdGrader pmdGrader = PmdGrader.createFromRuleSetPaths(1.0, 5.0, ruleSet.toString());
+        String fingerprint = pmdGrader.getFingerprint();
+        assertNotNull(fingerprint);
+
+        // The grader keeps the rules it loaded, so its fingerprint must not
+        // change when the file does, or is deleted.
+        Files.writeString(ruleSet, "<!-- edited -->\n", StandardOpenOption.APPEND);
+        assertEquals(fingerprint, pmdGrader.getFingerprint());
+
+        // A grader loading the edited rule set must not match cached results.
+        PmdGrader editedGrader = PmdGrader.createFromRuleSetPaths(1.0, 5.0, ruleSet.toString());
+        assertNotEquals(fingerprint, editedGrader.getFingerprint());
+
+        Files.delete(ruleSet);
+        assertEquals(fingerprint, pmdGrader.getFingerprint());
+    }
+
+    @Test
+    public void testFingerprintOfBuiltInRuleset() {
+        PmdGrader pmdGrader = PmdGrader.createFromRules(
+                1.0, 5.0, "category/java/bestpractices.xml", "MissingOverride");
+        assertNotNull(pmdGrader.getFingerprint());
+    }
 }
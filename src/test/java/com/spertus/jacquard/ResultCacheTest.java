@@ -0,0 +1,137 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.syntaxgrader.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+    @TempDir
+    Path tempDir;
+
+    private Target target;
+
+    @BeforeEach
+    public void setup() throws IOException, URISyntaxException {
+        Path path = tempDir.resolve("Main.java");
+        Files.copy(TestUtilities.getTargetFromResource("good/ForStatements.java").toPath(), path);
+        target = Target.fromPath(path);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    private static void init(ResultCache cache) {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().timeout(0).resultCache(cache).build();
+    }
+
+    // A grader that counts how many times it is run.
+    private static class CountingGrader extends Grader {
+        private final AtomicInteger runs = new AtomicInteger();
+        private final String fingerprint;
+
+        CountingGrader(String fingerprint) {
+            super("counting grader");
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public double getMaxScore() {
+            return 1.0;
+        }
+
+        @Override
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        public Callable<List<Result>> getCallableSingleTarget(Target target) {
+            return () -> {
+                runs.incrementAndGet();
+                return makeSuccessResultList(1.0, "ran");
+            };
+        }
+    }
+
+    @Test
+    public void testUnchangedTargetIsNotRegraded() throws IOException {
+        init(new ResultCache());
+        CountingGrader grader = new CountingGrader("config");
+        List<Result> first = grader.grade(target);
+        assertEquals(first, grader.grade(target));
+        assertEquals(1, grader.runs.get());
+
+        Files.writeString(target.toPath(), "// changed\n", StandardOpenOption.APPEND);
+        grader.grade(target);
+        assertEquals(2, grader.runs.get());
+    }
+
+    @Test
+    public void testDifferentConfigurationIsNotShared() {
+        init(new ResultCache());
+        CountingGrader grader1 = new CountingGrader("config1");
+        CountingGrader grader2 = new CountingGrader("config2");
+        grader1.grade(target);
+        grader2.grade(target);
+        assertEquals(1, grader1.runs.get());
+        assertEquals(1, grader2.runs.get());
+    }
+
+    @Test
+    public void testGradersWithoutFingerprintAreNotCached() {
+        init(new ResultCache());
+        CountingGrader grader = new CountingGrader(null);
+        grader.grade(target);
+        grader.grade(target);
+        assertEquals(2, grader.runs.get());
+    }
+
+    @Test
+    public void testCachedResultsAreCopies() {
+        init(new ResultCache());
+        CountingGrader grader = new CountingGrader("config");
+        grader.grade(target).get(0).setVisibility(Visibility.HIDDEN);
+        assertEquals(Visibility.VISIBLE, grader.grade(target).get(0).getVisibility());
+    }
+
+    @Test
+    public void testDiskCacheSurvivesRestart() {
+        Path cacheDir = tempDir.resolve("cache");
+        init(new ResultCache(cacheDir));
+        List<Result> expected = new CountingGrader("config").grade(target);
+
+        // A new Autograder and cache simulate a later run.
+        init(new ResultCache(cacheDir));
+        CountingGrader grader = new CountingGrader("config");
+        assertEquals(expected, grader.grade(target));
+        assertEquals(0, grader.runs.get());
+    }
+
+    @Test
+    public void testSyntaxGradersAreCached() {
+        ResultCache cache = new ResultCache();
+        init(null);
+        List<Result> expected = new StatementCountGrader(1.0, 1, 1, ForStmt.class).grade(target);
+        init(cache);
+        assertEquals(expected, new StatementCountGrader(1.0, 1, 1, ForStmt.class).grade(target));
+        assertEquals(expected, new StatementCountGrader(1.0, 1, 1, ForStmt.class).grade(target));
+        assertNotNull(new StatementCountGrader(1.0, 1, 1, ForStmt.class).getFingerprint());
+        assertNotEquals(
+                new StatementCountGrader(1.0, 1, 1, ForStmt.class).getFingerprint(),
+                new StatementCountGrader(1.0, 1, 2, ForStmt.class).getFingerprint());
+    }
+}
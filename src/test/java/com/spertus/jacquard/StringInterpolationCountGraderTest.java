@@ -7,6 +7,8 @@ import org.junit.jupiter.api.*;
 import java.net.URISyntaxException;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class StringInterpolationCountGraderTest {
     StringInterpolationCountGrader grader;
     Target mobTarget;
@@ -28,4 +30,15 @@ public class StringInterpolationCountGraderTest {
         List<Result> results = grader.grade(mobTarget);
         TestUtilities.assertResultsMatch(results, 1, 1.0, 1.0);
     }
+
+    @Test
+    public void counterReportsExactCount() {
+        // The count is exact even though the outcome is decided by the
+        // first string interpolation.
+        StringInterpolationCountGrader noneAllowed =
+                new StringInterpolationCountGrader("String interpolation grader", 1, 0, 0);
+        List<Result> results = noneAllowed.grade(mobTarget);
+        TestUtilities.assertResultsMatch(results, 1, 0.0, 1.0);
+        assertTrue(results.get(0).getMessage().endsWith("but had 3"));
+    }
 }
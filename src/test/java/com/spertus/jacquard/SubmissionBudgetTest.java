@@ -0,0 +1,158 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.syntaxgrader.StatementCountGrader;
+import org.junit.jupiter.api.*;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmissionBudgetTest {
+    private static final long BUDGET_MS = 2000;
+
+    private Target target;
+
+    @BeforeEach
+    public void setup() throws URISyntaxException {
+        target = TestUtilities.getTargetFromResource("good/ForStatements.java");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Autograder.resetForTest();
+    }
+
+    // A grader that runs until interrupted.
+    private static class SlowGrader extends Grader {
+        private final double maxScore;
+
+        SlowGrader(final double maxScore) {
+            super("slow grader");
+            this.maxScore = maxScore;
+        }
+
+        @Override
+        public double getMaxScore() {
+            return maxScore;
+        }
+
+        @Override
+        public Callable<List<Result>> getCallableSingleTarget(Target target) {
+            return () -> {
+                Thread.sleep(10 * BUDGET_MS);
+                return makeSuccessResultList(maxScore, "finished");
+            };
+        }
+    }
+
+    // A tester that records whether it was run.
+    private static class FlagTester extends Tester {
+        private final double maxScore;
+        private final AtomicBoolean ran = new AtomicBoolean();
+
+        FlagTester(final double maxScore) {
+            this.maxScore = maxScore;
+        }
+
+        @Override
+        public double getMaxScore() {
+            return maxScore;
+        }
+
+        @Override
+        public List<Result> run() {
+            ran.set(true);
+            return List.of(Result.makeSuccess("flag tester", maxScore, "ran"));
+        }
+    }
+
+    @Test
+    public void testNegativeBudget() {
+        Autograder.resetForTest();
+        assertThrows(ClientException.class,
+                () -> Autograder.Builder.getInstance().submissionBudget(-1));
+    }
+
+    @Test
+    public void testNoBudgetIsNeverExhausted() {
+        Autograder.initForTest();
+        assertFalse(Autograder.getInstance().isBudgetExhausted());
+        assertEquals(0, Autograder.getInstance().getTimeLimitMillis());
+    }
+
+    @Test
+    public void testTimeLimitIsCappedByBudget() {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().timeout(10 * BUDGET_MS).submissionBudget(BUDGET_MS).build();
+        long timeLimit = Autograder.getInstance().getTimeLimitMillis();
+        assertTrue(timeLimit > 0 && timeLimit <= BUDGET_MS);
+    }
+
+    @Test
+    public void testHighestScoringGradersRunFirst() {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().timeout(0).submissionBudget(BUDGET_MS).build();
+        Grader cheap = new StatementCountGrader(1.0, 1, 1, ForStmt.class);
+        Grader slow = new SlowGrader(5.0);
+        Grader valuable = new StatementCountGrader(10.0, 1, 1, ForStmt.class);
+
+        // The valuable grader runs first, the slow grader uses up the budget,
+        // and the cheap grader is not run.
+        List<Result> results = Grader.gradeAll(target, cheap, slow, valuable);
+        assertEquals(3, results.size());
+
+        assertEquals(0, results.get(0).getScore());
+        assertEquals(1.0, results.get(0).getMaxScore());
+        assertTrue(results.get(0).getMessage().contains("budget"));
+
+        assertTrue(results.get(1) instanceof ExceptionResult);
+        assertTrue(results.get(1).getMessage().contains("timed out"));
+
+        assertEquals(10.0, results.get(2).getScore());
+        assertTrue(Autograder.getInstance().isBudgetExhausted());
+    }
+
+    @Test
+    public void testConcurrentGradersShareBudget() {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().submissionBudget(BUDGET_MS).build();
+        List<Result> results = Grader.gradeAllConcurrently(
+                target,
+                new SlowGrader(1.0),
+                new StatementCountGrader(10.0, 1, 1, ForStmt.class));
+        assertEquals(2, results.size());
+        assertTrue(results.get(0) instanceof ExceptionResult);
+        assertEquals(10.0, results.get(1).getScore());
+    }
+
+    @Test
+    public void testTestersShareBudget() {
+        Autograder.resetForTest();
+        Autograder.Builder.getInstance().timeout(0).submissionBudget(BUDGET_MS).build();
+        FlagTester cheap = new FlagTester(1.0);
+        FlagTester valuable = new FlagTester(10.0);
+
+        // The valuable tester runs before the slow grader uses up the
+        // budget, and the cheap tester is not run.
+        List<Result> results = Grader.gradeAll(
+                target, cheap.toGrader("cheap"), new SlowGrader(5.0), valuable.toGrader("valuable"));
+        assertEquals(3, results.size());
+
+        assertEquals("cheap", results.get(0).getName());
+        assertEquals(0, results.get(0).getScore());
+        assertEquals(1.0, results.get(0).getMaxScore());
+        assertTrue(results.get(0).getMessage().contains("budget"));
+        assertFalse(cheap.ran.get());
+
+        assertTrue(results.get(1) instanceof ExceptionResult);
+
+        assertEquals(10.0, results.get(2).getScore());
+        assertTrue(valuable.ran.get());
+    }
+}
@@ -2,13 +2,16 @@ package com.spertus.jacquard;
 
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.SubmissionException;
 import com.spertus.jacquard.syntaxgrader.*;
 import org.junit.jupiter.api.*;
 
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SyntaxConditionGraderTest {
     SyntaxConditionGrader overrideGrader;
@@ -62,4 +65,43 @@ public class SyntaxConditionGraderTest {
         assertEquals(0, results.get(0).getScore());
         assertEquals(5.0, results.get(0).getMaxScore());
     }
+
+    @Test
+    public void testTypedPredicate() throws URISyntaxException, SubmissionException {
+        AtomicInteger tested = new AtomicInteger();
+        SyntaxConditionGrader typedGrader = new SyntaxConditionGrader(
+                1,
+                "toString() method with override annotation",
+                5.0,
+                MethodDeclaration.class,
+                methodDecl -> {
+                    tested.incrementAndGet();
+                    return methodDecl.getAnnotationByClass(Override.class).isPresent()
+                            && methodDecl.getNameAsString().equals("toString");
+                });
+        Target target = TestUtilities.getTargetFromResource("good/Mob.java");
+        assertEquals(overrideGrader.grade(target).get(0).getScore(), typedGrader.grade(target).get(0).getScore());
+        // The predicate is only tested on method declarations.
+        assertEquals(new Parser().parse(target.toFile()).findAll(MethodDeclaration.class).size(), tested.get());
+    }
+
+    @Test
+    public void testReportsExactCount() throws URISyntaxException {
+        AtomicInteger tested = new AtomicInteger();
+        SyntaxConditionGrader noMethodsGrader = new SyntaxConditionGrader(
+                0,
+                "methods",
+                5.0,
+                MethodDeclaration.class,
+                methodDecl -> {
+                    tested.incrementAndGet();
+                    return true;
+                });
+        List<Result> results = noMethodsGrader.grade(TestUtilities.getTargetFromResource("good/Mob.java"));
+        assertEquals(0, results.get(0).getScore());
+        // The count is exact even though the outcome is decided by the
+        // first method declaration.
+        assertEquals(19, tested.get());
+        assertTrue(results.get(0).getMessage().endsWith("but had 19"));
+    }
 }
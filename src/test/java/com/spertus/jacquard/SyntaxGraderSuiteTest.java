@@ -0,0 +1,120 @@
+package com.spertus.jacquard;
+
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.stmt.*;
+import com.spertus.jacquard.common.*;
+import com.spertus.jacquard.exceptions.ClientException;
+import com.spertus.jacquard.syntaxgrader.*;
+import org.junit.jupiter.api.*;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntaxGraderSuiteTest {
+    private static Target mobTarget;
+
+    @BeforeAll
+    public static void init() throws URISyntaxException {
+        Autograder.initForTest();
+        mobTarget = TestUtilities.getTargetFromResource("good/Mob.java");
+    }
+
+    private static List<SyntaxGrader> makeGraders() {
+        return List.of(
+                new StatementCountGrader(1.0, 1, 1, ForStmt.class),
+                new StatementCountGrader(1.0, 1, Integer.MAX_VALUE, IfStmt.class),
+                new ExpressionCountGrader(1.0, 0, 2, MethodCallExpr.class),
+                new SyntaxConditionGrader(4, "static methods", 1.0,
+                        node -> node instanceof MethodDeclaration md && md.isStatic()),
+                new StringInterpolationCountGrader(1, 1, Integer.MAX_VALUE),
+                FieldModifierGrader.makeChecker(1.0,
+                        List.of("behavior", "maxHearts", "maxDamage", "minDamage", "type", "nosuchfield"),
+                        List.of(Modifier.finalModifier(), Modifier.privateModifier()),
+                        List.of(),
+                        true),
+                new MethodModifierGrader(1.0,
+                        List.of("getType", "getNumHearts", "nosuchmethod"),
+                        List.of(Modifier.publicModifier()),
+                        List.of(),
+                        true),
+                new ImportRequiredGrader(1.0, List.of("java.util.Random", "java.util.List")),
+                new ImportBlocklistedGrader(1.0, List.of("java.util")),
+                new ImportDisallowedGrader(1.0, List.of("java.io")));
+    }
+
+    @Test
+    public void testSameResultsAsSeparateGraders() {
+        List<SyntaxGrader> graders = makeGraders();
+        List<Result> expected = Grader.gradeAll(mobTarget, graders.toArray(new Grader[0]));
+        SyntaxGraderSuite suite = new SyntaxGraderSuite(graders);
+        assertEquals(expected, suite.grade(mobTarget));
+        // Graders can be reused.
+        assertEquals(expected, suite.grade(mobTarget));
+        assertEquals(TestUtilities.getTotalMaxScore(expected), suite.getMaxScore());
+    }
+
+    // A grader outside the syntaxgrader package that keeps the state of
+    // each grading in a Check.
+    private static class ReturnGrader extends SyntaxCheckGrader {
+        ReturnGrader() {
+            super("return grader", 1.0, null);
+        }
+
+        @Override
+        protected Set<Class<? extends Node>> getPassNodeClasses() {
+            return Set.of(ReturnStmt.class);
+        }
+
+        @Override
+        protected Pass makePass() {
+            return new Check() {
+                private boolean found;
+
+                @Override
+                public void visit(Node node) {
+                    found = true;
+                }
+
+                @Override
+                public boolean isComplete() {
+                    return found;
+                }
+
+                @Override
+                protected void finish() {
+                    results.add(found
+                            ? makeSuccessResult("Found a return statement.")
+                            : makeFailingResult("Did not find a return statement."));
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testSubclassCheck() {
+        SyntaxGrader returnGrader = new ReturnGrader();
+        SyntaxGrader forGrader = new StatementCountGrader(1.0, 1, 1, ForStmt.class);
+        List<Result> expected = Grader.gradeAll(mobTarget, returnGrader, forGrader);
+        TestUtilities.assertResultsMatch(expected.subList(0, 1), 1, 1.0, 1.0);
+        assertEquals(expected, new SyntaxGraderSuite(List.of(returnGrader, forGrader)).grade(mobTarget));
+        TestUtilities.testRepeatability(returnGrader, mobTarget);
+    }
+
+    @Test
+    public void testRepeatability() {
+        TestUtilities.testRepeatability(new SyntaxGraderSuite(makeGraders()), mobTarget);
+    }
+
+    @Test
+    public void testInvalidSuites() {
+        assertThrows(ClientException.class, () -> new SyntaxGraderSuite(List.of()));
+        SyntaxGrader grader = new StatementCountGrader(1.0, 1, 1, ForStmt.class);
+        assertThrows(ClientException.class, () -> new SyntaxGraderSuite(List.of(grader, grader)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.spertus.jacquard.blockingtests;
+
+import com.spertus.jacquard.junittester.GradedTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// This is outside the junittester package so that its tests are not run
+// by JUnitTesterTest's package tests.
+@Tag("IndirectTest")
+public class BlockingTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static CountDownLatch started;
+    private static CountDownLatch released;
+
+    public static void reset() {
+        started = new CountDownLatch(1);
+        released = new CountDownLatch(1);
+    }
+
+    public static boolean awaitStarted() throws InterruptedException {
+        return started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public static void release() {
+        released.countDown();
+    }
+
+    @Test
+    @GradedTest(name = "blocks")
+    public void testBlocks() throws InterruptedException {
+        started.countDown();
+        assertTrue(released.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,49 @@
+package com.spertus.jacquard.paralleltests;
+
+import com.spertus.jacquard.junittester.GradedTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.PrintStream;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+// This is outside the junittester package so that its tests are not run
+// by JUnitTesterTest's package tests.
+@Tag("IndirectTest")
+@Execution(ExecutionMode.CONCURRENT)
+public class ParallelOutputTest {
+    public static final int LINES = 20;
+    private static final long BARRIER_TIMEOUT_SECONDS = 5;
+
+    // Both tests wait here before each line, so they fail unless they
+    // run at the same time, and their output is interleaved.
+    private static CyclicBarrier barrier;
+
+    @BeforeAll
+    public static void init() {
+        barrier = new CyclicBarrier(2);
+    }
+
+    private static void print(PrintStream stream, String text) throws Exception {
+        for (int i = 0; i < LINES; i++) {
+            barrier.await(BARRIER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            stream.println(text);
+        }
+    }
+
+    @Test
+    @GradedTest(name = "parallel1")
+    public void testOut() throws Exception {
+        print(System.out, "out");
+    }
+
+    @Test
+    @GradedTest(name = "parallel2")
+    public void testErr() throws Exception {
+        print(System.err, "err");
+    }
+}
@@ -0,0 +1,34 @@
+package com.spertus.jacquard.timeouttests;
+
+import com.spertus.jacquard.junittester.GradedTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// This is outside the junittester package so that its tests are not run
+// by JUnitTesterTest's package tests.
+@Tag("IndirectTest")
+public class TimedTest {
+    public static final long TIMEOUT_MILLIS = 200;
+
+    @Test
+    @GradedTest(name = "sleeps", timeoutMillis = TIMEOUT_MILLIS)
+    public void testSleeps() throws InterruptedException {
+        Thread.sleep(Long.MAX_VALUE);
+    }
+
+    @Test
+    @GradedTest(name = "ignoresInterrupts", timeoutMillis = TIMEOUT_MILLIS)
+    public void testIgnoresInterrupts() {
+        // This runs long enough to be abandoned but not forever.
+        long end = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    @GradedTest(name = "finishes", timeoutMillis = 10 * TIMEOUT_MILLIS)
+    public void testFinishes() {
+        System.out.println("finished");
+    }
+}